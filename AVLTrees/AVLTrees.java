@@ -0,0 +1,565 @@
+package AVLTrees;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Demonstrates an AVL tree of primitive long keys augmented with subtree sizes.
+ * Supports rank/select in O(log n) and join/split-based union, intersection and
+ * difference that recurse on both halves in parallel on a ForkJoinPool.
+ * Builds two large sets and benchmarks bulk union against key-by-key insertion.
+ */
+public class AVLTrees {
+
+    private static class Node {
+        long key;
+        Node left;
+        Node right;
+        int height;
+        int size;
+
+        Node(long key) {
+            this.key = key;
+            this.height = 1;
+            this.size = 1;
+        }
+    }
+
+    /**
+     * Result of splitting a tree around a key.
+     */
+    private static class Split {
+        final Node left;
+        final boolean found;
+        final Node right;
+
+        Split(Node left, boolean found, Node right) {
+            this.left = left;
+            this.found = found;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Ordered set of longs in an AVL tree with order statistics.
+     * The bulk set operations consume both operands: their nodes are reused
+     * in the result, and the operands are left empty.
+     */
+    static class AVLTreeSet {
+        private static final int SEQUENTIAL_CUTOFF = 1 << 12;
+
+        private Node root;
+
+        public AVLTreeSet() {
+        }
+
+        private AVLTreeSet(Node root) {
+            this.root = root;
+        }
+
+        /**
+         * Build a perfectly balanced tree from strictly increasing keys. O(n) time.
+         */
+        public static AVLTreeSet fromSorted(long[] keys, int n) {
+            for (int i = 1; i < n; i++) {
+                if (keys[i] <= keys[i - 1]) {
+                    throw new IllegalArgumentException("keys must be strictly increasing");
+                }
+            }
+            return new AVLTreeSet(build(keys, 0, n));
+        }
+
+        /**
+         * Check whether key is present. O(log n) time.
+         */
+        public boolean contains(long key) {
+            Node x = root;
+            while (x != null) {
+                if (key < x.key) {
+                    x = x.left;
+                } else if (key > x.key) {
+                    x = x.right;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Insert key. Returns false if already present. O(log n) time.
+         */
+        public boolean insert(long key) {
+            int before = size();
+            root = insert(root, key);
+            return size() != before;
+        }
+
+        /**
+         * Delete key. Returns false if absent. O(log n) time.
+         */
+        public boolean delete(long key) {
+            int before = size();
+            root = delete(root, key);
+            return size() != before;
+        }
+
+        /**
+         * Return number of keys strictly less than key. O(log n) time.
+         */
+        public int rank(long key) {
+            int r = 0;
+            Node x = root;
+            while (x != null) {
+                if (key <= x.key) {
+                    x = x.left;
+                } else {
+                    r += size(x.left) + 1;
+                    x = x.right;
+                }
+            }
+            return r;
+        }
+
+        /**
+         * Return the key with the given 0-based rank. O(log n) time.
+         */
+        public long select(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("index " + index + " out of range for size " + size());
+            }
+            Node x = root;
+            while (true) {
+                int leftSize = size(x.left);
+                if (index < leftSize) {
+                    x = x.left;
+                } else if (index > leftSize) {
+                    index -= leftSize + 1;
+                    x = x.right;
+                } else {
+                    return x.key;
+                }
+            }
+        }
+
+        /**
+         * Return number of keys. O(1) operation.
+         */
+        public int size() {
+            return size(root);
+        }
+
+        /**
+         * Return tree height. O(1) operation.
+         */
+        public int height() {
+            return height(root);
+        }
+
+        /**
+         * Return the union of a and b, consuming both. O(m log(n/m + 1)) work, O(log^2 n) span.
+         */
+        public static AVLTreeSet union(AVLTreeSet a, AVLTreeSet b, ForkJoinPool pool) {
+            return consume(a, b, pool.invoke(new SetOperation(SetOperation.UNION, a.root, b.root)));
+        }
+
+        /**
+         * Return the intersection of a and b, consuming both. O(m log(n/m + 1)) work, O(log^2 n) span.
+         */
+        public static AVLTreeSet intersection(AVLTreeSet a, AVLTreeSet b, ForkJoinPool pool) {
+            return consume(a, b, pool.invoke(new SetOperation(SetOperation.INTERSECTION, a.root, b.root)));
+        }
+
+        /**
+         * Return the keys of a not in b, consuming both. O(m log(n/m + 1)) work, O(log^2 n) span.
+         */
+        public static AVLTreeSet difference(AVLTreeSet a, AVLTreeSet b, ForkJoinPool pool) {
+            return consume(a, b, pool.invoke(new SetOperation(SetOperation.DIFFERENCE, a.root, b.root)));
+        }
+
+        /**
+         * Copy keys in ascending order into dst. O(n) time.
+         */
+        public int toArray(long[] dst) {
+            return fill(root, dst, 0);
+        }
+
+        private static AVLTreeSet consume(AVLTreeSet a, AVLTreeSet b, Node result) {
+            a.root = null;
+            b.root = null;
+            return new AVLTreeSet(result);
+        }
+
+        /**
+         * Recursive set operation on two subtrees; forks the two halves when large enough.
+         */
+        private static class SetOperation extends RecursiveTask<Node> {
+            private static final long serialVersionUID = 1L;
+
+            static final int UNION = 0;
+            static final int INTERSECTION = 1;
+            static final int DIFFERENCE = 2;
+
+            private final int op;
+            private final Node t1;
+            private final Node t2;
+
+            SetOperation(int op, Node t1, Node t2) {
+                this.op = op;
+                this.t1 = t1;
+                this.t2 = t2;
+            }
+
+            @Override
+            protected Node compute() {
+                return run(op, t1, t2);
+            }
+
+            private static Node run(int op, Node t1, Node t2) {
+                if (t1 == null) {
+                    return op == UNION ? t2 : null;
+                }
+                if (t2 == null) {
+                    return op == INTERSECTION ? null : t1;
+                }
+                // Split the other tree around the pivot's key; the pivot node is reused for the join
+                boolean small = size(t1) + size(t2) <= SEQUENTIAL_CUTOFF;
+                Node pivot = op == DIFFERENCE ? t2 : t1;
+                Node other = op == DIFFERENCE ? t1 : t2;
+                long key = pivot.key;
+                Node pivotLeft = pivot.left;
+                Node pivotRight = pivot.right;
+                Split s = split(other, key);
+
+                Node l;
+                Node r;
+                if (small) {
+                    l = run(op, op == DIFFERENCE ? s.left : pivotLeft, op == DIFFERENCE ? pivotLeft : s.left);
+                    r = run(op, op == DIFFERENCE ? s.right : pivotRight, op == DIFFERENCE ? pivotRight : s.right);
+                } else {
+                    SetOperation leftTask = op == DIFFERENCE
+                            ? new SetOperation(op, s.left, pivotLeft)
+                            : new SetOperation(op, pivotLeft, s.left);
+                    leftTask.fork();
+                    r = op == DIFFERENCE ? run(op, s.right, pivotRight) : run(op, pivotRight, s.right);
+                    l = leftTask.join();
+                }
+
+                if (op == UNION || (op == INTERSECTION && s.found)) {
+                    pivot.left = null;
+                    pivot.right = null;
+                    return AVLTreeSet.join(l, pivot, r);
+                }
+                return AVLTreeSet.join2(l, r);
+            }
+        }
+
+        // --- AVL primitives ---
+
+        private static int height(Node x) {
+            return x == null ? 0 : x.height;
+        }
+
+        private static int size(Node x) {
+            return x == null ? 0 : x.size;
+        }
+
+        private static Node update(Node x) {
+            x.height = Math.max(height(x.left), height(x.right)) + 1;
+            x.size = size(x.left) + size(x.right) + 1;
+            return x;
+        }
+
+        private static Node rotateLeft(Node x) {
+            Node y = x.right;
+            x.right = y.left;
+            y.left = update(x);
+            return update(y);
+        }
+
+        private static Node rotateRight(Node x) {
+            Node y = x.left;
+            x.left = y.right;
+            y.right = update(x);
+            return update(y);
+        }
+
+        private static Node rebalance(Node x) {
+            update(x);
+            int balance = height(x.left) - height(x.right);
+            if (balance > 1) {
+                if (height(x.left.left) < height(x.left.right)) {
+                    x.left = rotateLeft(x.left);
+                }
+                return rotateRight(x);
+            }
+            if (balance < -1) {
+                if (height(x.right.right) < height(x.right.left)) {
+                    x.right = rotateRight(x.right);
+                }
+                return rotateLeft(x);
+            }
+            return x;
+        }
+
+        private static Node insert(Node x, long key) {
+            if (x == null) {
+                return new Node(key);
+            }
+            if (key < x.key) {
+                x.left = insert(x.left, key);
+            } else if (key > x.key) {
+                x.right = insert(x.right, key);
+            } else {
+                return x;
+            }
+            return rebalance(x);
+        }
+
+        private static Node delete(Node x, long key) {
+            if (x == null) {
+                return null;
+            }
+            if (key < x.key) {
+                x.left = delete(x.left, key);
+            } else if (key > x.key) {
+                x.right = delete(x.right, key);
+            } else {
+                if (x.left == null) {
+                    return x.right;
+                }
+                if (x.right == null) {
+                    return x.left;
+                }
+                Node successor = x.right;
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                x.key = successor.key;
+                x.right = delete(x.right, successor.key);
+            }
+            return rebalance(x);
+        }
+
+        private static Node build(long[] keys, int from, int to) {
+            if (from >= to) {
+                return null;
+            }
+            int mid = (from + to) >>> 1;
+            Node x = new Node(keys[mid]);
+            x.left = build(keys, from, mid);
+            x.right = build(keys, mid + 1, to);
+            return update(x);
+        }
+
+        private static int fill(Node x, long[] dst, int index) {
+            if (x == null) {
+                return index;
+            }
+            index = fill(x.left, dst, index);
+            dst[index++] = x.key;
+            return fill(x.right, dst, index);
+        }
+
+        // --- Join-based primitives (Blelloch, Ferizovic, Sun: "Just Join for Parallel Ordered Sets") ---
+
+        /**
+         * Join trees l < k < r around the detached node k. O(|h(l) - h(r)|) time.
+         */
+        private static Node join(Node l, Node k, Node r) {
+            if (height(l) > height(r) + 1) {
+                return joinRight(l, k, r);
+            }
+            if (height(r) > height(l) + 1) {
+                return joinLeft(l, k, r);
+            }
+            k.left = l;
+            k.right = r;
+            return update(k);
+        }
+
+        private static Node joinRight(Node l, Node k, Node r) {
+            Node c = l.right;
+            if (height(c) <= height(r) + 1) {
+                k.left = c;
+                k.right = r;
+                Node t = update(k);
+                if (height(t) <= height(l.left) + 1) {
+                    l.right = t;
+                    return update(l);
+                }
+                l.right = rotateRight(t);
+                return rotateLeft(update(l));
+            }
+            l.right = joinRight(c, k, r);
+            update(l);
+            if (height(l.right) <= height(l.left) + 1) {
+                return l;
+            }
+            return rotateLeft(l);
+        }
+
+        private static Node joinLeft(Node l, Node k, Node r) {
+            Node c = r.left;
+            if (height(c) <= height(l) + 1) {
+                k.left = l;
+                k.right = c;
+                Node t = update(k);
+                if (height(t) <= height(r.right) + 1) {
+                    r.left = t;
+                    return update(r);
+                }
+                r.left = rotateLeft(t);
+                return rotateRight(update(r));
+            }
+            r.left = joinLeft(l, k, c);
+            update(r);
+            if (height(r.left) <= height(r.right) + 1) {
+                return r;
+            }
+            return rotateRight(r);
+        }
+
+        /**
+         * Join l < r without a middle key by detaching the maximum of l. O(log n) time.
+         */
+        private static Node join2(Node l, Node r) {
+            if (l == null) {
+                return r;
+            }
+            Node[] max = new Node[1];
+            Node rest = removeMax(l, max);
+            return join(rest, max[0], r);
+        }
+
+        private static Node removeMax(Node x, Node[] max) {
+            if (x.right == null) {
+                max[0] = x;
+                Node left = x.left;
+                x.left = null;
+                return left;
+            }
+            Node right = removeMax(x.right, max);
+            Node left = x.left;
+            x.right = null;
+            x.left = null;
+            return join(left, x, right);
+        }
+
+        /**
+         * Split x into keys < key and keys > key, reporting whether key was present. O(log n) time.
+         */
+        private static Split split(Node x, long key) {
+            if (x == null) {
+                return new Split(null, false, null);
+            }
+            Node left = x.left;
+            Node right = x.right;
+            x.left = null;
+            x.right = null;
+            if (key == x.key) {
+                return new Split(left, true, right);
+            }
+            if (key < x.key) {
+                Split s = split(left, key);
+                return new Split(s.left, s.found, join(s.right, x, right));
+            }
+            Split s = split(right, key);
+            return new Split(join(left, x, s.left), s.found, s.right);
+        }
+    }
+
+    private static long[] randomSortedKeys(Random random, int n, long bound) {
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = (long) (random.nextDouble() * bound);
+        }
+        Arrays.sort(keys);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || keys[i] != keys[unique - 1]) {
+                keys[unique++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, unique);
+    }
+
+    public static void main(String[] args) {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        // Create AVL tree instance
+        AVLTreeSet tree = new AVLTreeSet();
+
+        // Insert elements
+        long[] elements = {30, 10, 50, 20, 40, 70, 60, 90, 80};
+        for (long elem : elements) {
+            tree.insert(elem);
+        }
+        System.out.println("Size: " + tree.size() + ", height: " + tree.height());
+        System.out.println("Rank of 55 (keys < 55): " + tree.rank(55));
+        System.out.println("Select(3) (4th smallest): " + tree.select(3));
+        tree.delete(40);
+        System.out.println("After deleting 40, select(3): " + tree.select(3));
+
+        // Bulk set operations
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        AVLTreeSet evens = AVLTreeSet.fromSorted(new long[] {0, 2, 4, 6, 8, 10}, 6);
+        AVLTreeSet threes = AVLTreeSet.fromSorted(new long[] {0, 3, 6, 9}, 4);
+        AVLTreeSet both = AVLTreeSet.intersection(evens, threes, pool);
+        long[] out = new long[both.size()];
+        both.toArray(out);
+        System.out.println("Intersection {0,2,4,6,8,10} and {0,3,6,9}: " + Arrays.toString(out));
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Bulk union benchmark on two million-element sets
+        int n = 1_000_000;
+        Random random = new Random(42);
+        long[] a = randomSortedKeys(random, n, 4L * n);
+        long[] b = randomSortedKeys(random, n, 4L * n);
+        System.out.println("\n--- Benchmark (|A| = " + a.length + ", |B| = " + b.length
+                + ", " + pool.getParallelism() + " workers) ---");
+
+        AVLTreeSet seq = AVLTreeSet.fromSorted(a, a.length);
+        long t0 = System.nanoTime();
+        for (long key : b) {
+            seq.insert(key);
+        }
+        System.out.printf("Union by insertion:    %.2f ms (size %d)%n", (System.nanoTime() - t0) / 1e6, seq.size());
+
+        AVLTreeSet left = AVLTreeSet.fromSorted(a, a.length);
+        AVLTreeSet right = AVLTreeSet.fromSorted(b, b.length);
+        t0 = System.nanoTime();
+        AVLTreeSet union = AVLTreeSet.union(left, right, pool);
+        System.out.printf("Parallel join union:   %.2f ms (size %d, height %d)%n",
+                (System.nanoTime() - t0) / 1e6, union.size(), union.height());
+
+        left = AVLTreeSet.fromSorted(a, a.length);
+        right = AVLTreeSet.fromSorted(b, b.length);
+        t0 = System.nanoTime();
+        AVLTreeSet common = AVLTreeSet.intersection(left, right, pool);
+        System.out.printf("Parallel intersection: %.2f ms (size %d)%n", (System.nanoTime() - t0) / 1e6, common.size());
+
+        left = AVLTreeSet.fromSorted(a, a.length);
+        right = AVLTreeSet.fromSorted(b, b.length);
+        t0 = System.nanoTime();
+        AVLTreeSet onlyA = AVLTreeSet.difference(left, right, pool);
+        System.out.printf("Parallel difference:   %.2f ms (size %d)%n", (System.nanoTime() - t0) / 1e6, onlyA.size());
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Search/Insert/Delete: O(log n)");
+        System.out.println("  - Rank/Select: O(log n)");
+        System.out.println("  - Union/Intersection/Difference: O(m log(n/m + 1)) work, O(log^2 n) span");
+    }
+}
@@ -1,16 +1,376 @@
 package Arrays;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
 /**
- * Demonstrates array declaration, initialization, and element access.
- * Creates an array with 5 integers and prints each element with its index.
+ * Demonstrates array declaration, initialization, and element access, plus a toolkit
+ * of parallel bulk operations on large primitive arrays: prefix sum, LSD radix sort,
+ * filter/compact, and branch-free binary search.
+ * Parallel operations split the array into contiguous blocks run on a ForkJoinPool
+ * and fall back to a sequential loop below a size cutoff.
+ * Benchmarks them against java.util.Arrays.parallelPrefix and parallelSort.
  */
 public class Arrays {
+
+    /**
+     * Parallel primitive array algorithms. Each runs in two or three passes over
+     * blocks: count or reduce per block, a short sequential scan over the per-block
+     * results, then a write pass where every block knows its output offset.
+     */
+    static class ParallelArrays {
+        // Below this many elements the sequential version is used
+        static final int SEQUENTIAL_CUTOFF = 1 << 15;
+        private static final int RADIX_BITS = 8;
+        private static final int BUCKETS = 1 << RADIX_BITS;
+
+        /**
+         * Replace a[i] with a[0] + ... + a[i]. O(n) work, O(n / p + blocks) span.
+         */
+        static void prefixSum(long[] a, ForkJoinPool pool) {
+            int n = a.length;
+            if (n < SEQUENTIAL_CUTOFF) {
+                scan(a, 0, n, 0L);
+                return;
+            }
+            int[] bounds = blocks(n, pool);
+            int count = bounds.length - 1;
+            long[] blockSums = new long[count];
+            forEachBlock(pool, count, b -> {
+                long sum = 0;
+                for (int i = bounds[b]; i < bounds[b + 1]; i++) {
+                    sum += a[i];
+                }
+                blockSums[b] = sum;
+            });
+            long carry = 0;
+            for (int b = 0; b < count; b++) {
+                long sum = blockSums[b];
+                blockSums[b] = carry;
+                carry += sum;
+            }
+            forEachBlock(pool, count, b -> scan(a, bounds[b], bounds[b + 1], blockSums[b]));
+        }
+
+        /**
+         * Sort ascending with an 8-bit LSD radix sort; digits on which all keys agree are skipped.
+         * O(n) work per pass, 4 passes at most, plus an n-element buffer.
+         */
+        static void radixSort(int[] a, ForkJoinPool pool) {
+            int n = a.length;
+            if (n < SEQUENTIAL_CUTOFF) {
+                java.util.Arrays.sort(a);
+                return;
+            }
+            int[] bounds = blocks(n, pool);
+            int count = bounds.length - 1;
+            int[][] offsets = new int[count][BUCKETS];
+            int[] src = a;
+            int[] dst = new int[n];
+            for (int shift = 0; shift < 32; shift += RADIX_BITS) {
+                int s = shift;
+                // Flipping the sign bit on the top digit orders negatives first
+                int flip = shift == 32 - RADIX_BITS ? 0x80 : 0;
+                int[] from = src;
+                forEachBlock(pool, count, b -> {
+                    int[] histogram = offsets[b];
+                    java.util.Arrays.fill(histogram, 0);
+                    for (int i = bounds[b]; i < bounds[b + 1]; i++) {
+                        histogram[((from[i] >>> s) & 0xFF) ^ flip]++;
+                    }
+                });
+                if (!toOffsets(offsets, n)) {
+                    continue;
+                }
+                int[] to = dst;
+                forEachBlock(pool, count, b -> {
+                    int[] cursor = offsets[b];
+                    for (int i = bounds[b]; i < bounds[b + 1]; i++) {
+                        int v = from[i];
+                        to[cursor[((v >>> s) & 0xFF) ^ flip]++] = v;
+                    }
+                });
+                dst = src;
+                src = to;
+            }
+            if (src != a) {
+                System.arraycopy(src, 0, a, 0, n);
+            }
+        }
+
+        /**
+         * Sort ascending with an 8-bit LSD radix sort. At most 8 passes; see radixSort(int[]).
+         */
+        static void radixSort(long[] a, ForkJoinPool pool) {
+            int n = a.length;
+            if (n < SEQUENTIAL_CUTOFF) {
+                java.util.Arrays.sort(a);
+                return;
+            }
+            int[] bounds = blocks(n, pool);
+            int count = bounds.length - 1;
+            int[][] offsets = new int[count][BUCKETS];
+            long[] src = a;
+            long[] dst = new long[n];
+            for (int shift = 0; shift < 64; shift += RADIX_BITS) {
+                int s = shift;
+                int flip = shift == 64 - RADIX_BITS ? 0x80 : 0;
+                long[] from = src;
+                forEachBlock(pool, count, b -> {
+                    int[] histogram = offsets[b];
+                    java.util.Arrays.fill(histogram, 0);
+                    for (int i = bounds[b]; i < bounds[b + 1]; i++) {
+                        histogram[((int) (from[i] >>> s) & 0xFF) ^ flip]++;
+                    }
+                });
+                if (!toOffsets(offsets, n)) {
+                    continue;
+                }
+                long[] to = dst;
+                forEachBlock(pool, count, b -> {
+                    int[] cursor = offsets[b];
+                    for (int i = bounds[b]; i < bounds[b + 1]; i++) {
+                        long v = from[i];
+                        to[cursor[((int) (v >>> s) & 0xFF) ^ flip]++] = v;
+                    }
+                });
+                dst = src;
+                src = to;
+            }
+            if (src != a) {
+                System.arraycopy(src, 0, a, 0, n);
+            }
+        }
+
+        /**
+         * Return the elements matching keep, in order, as a new array. The predicate is
+         * evaluated twice per element (count pass, then write pass), so it must be pure. O(n) work.
+         */
+        static int[] filter(int[] a, IntPredicate keep, ForkJoinPool pool) {
+            int n = a.length;
+            if (n < SEQUENTIAL_CUTOFF) {
+                int[] out = new int[n];
+                int size = 0;
+                for (int v : a) {
+                    if (keep.test(v)) {
+                        out[size++] = v;
+                    }
+                }
+                return java.util.Arrays.copyOf(out, size);
+            }
+            int[] bounds = blocks(n, pool);
+            int count = bounds.length - 1;
+            int[] start = new int[count + 1];
+            forEachBlock(pool, count, b -> {
+                int kept = 0;
+                for (int i = bounds[b]; i < bounds[b + 1]; i++) {
+                    if (keep.test(a[i])) {
+                        kept++;
+                    }
+                }
+                start[b + 1] = kept;
+            });
+            for (int b = 0; b < count; b++) {
+                start[b + 1] += start[b];
+            }
+            int[] out = new int[start[count]];
+            forEachBlock(pool, count, b -> {
+                int write = start[b];
+                for (int i = bounds[b]; i < bounds[b + 1]; i++) {
+                    int v = a[i];
+                    if (keep.test(v)) {
+                        out[write++] = v;
+                    }
+                }
+            });
+            return out;
+        }
+
+        /**
+         * Return the first index i with sorted[i] >= key, or sorted.length if none.
+         * The loop has a fixed trip count of ceil(log2 n) and no data-dependent branch;
+         * the comparison feeds a conditional move.
+         */
+        static int lowerBound(int[] sorted, int key) {
+            int n = sorted.length;
+            if (n == 0) {
+                return 0;
+            }
+            int base = 0;
+            int len = n;
+            while (len > 1) {
+                int half = len >>> 1;
+                base = sorted[base + half - 1] < key ? base + half : base;
+                len -= half;
+            }
+            return base + (sorted[base] < key ? 1 : 0);
+        }
+
+        /**
+         * Return an index of key in sorted, or -1 if absent. O(log n), branch-free descent.
+         */
+        static int indexOf(int[] sorted, int key) {
+            int i = lowerBound(sorted, key);
+            return i < sorted.length && sorted[i] == key ? i : -1;
+        }
+
+        private static void scan(long[] a, int from, int to, long carry) {
+            for (int i = from; i < to; i++) {
+                carry += a[i];
+                a[i] = carry;
+            }
+        }
+
+        // Turn per-block histograms into per-block write cursors; false if one bucket holds everything
+        private static boolean toOffsets(int[][] offsets, int n) {
+            int total = 0;
+            for (int digit = 0; digit < BUCKETS; digit++) {
+                int bucket = 0;
+                for (int[] histogram : offsets) {
+                    bucket += histogram[digit];
+                }
+                if (bucket == n) {
+                    return false;
+                }
+                for (int[] histogram : offsets) {
+                    int c = histogram[digit];
+                    histogram[digit] = total;
+                    total += c;
+                }
+            }
+            return true;
+        }
+
+        // About 4 blocks per worker, none smaller than the cutoff
+        private static int[] blocks(int n, ForkJoinPool pool) {
+            int count = Math.max(1, Math.min(pool.getParallelism() * 4, n / SEQUENTIAL_CUTOFF));
+            int[] bounds = new int[count + 1];
+            for (int b = 0; b <= count; b++) {
+                bounds[b] = (int) ((long) n * b / count);
+            }
+            return bounds;
+        }
+    }
+
+    /**
+     * Runs body(block) for block in [from, to), splitting the range in halves.
+     */
+    private static class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        BlockTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BlockTask(from, mid, body), new BlockTask(mid, to, body));
+        }
+    }
+
+    /**
+     * Run body(block) for every block in [0, blocks) on pool and wait for all of them.
+     * Shared by the other packages that split work into blocks.
+     */
+    public static void forEachBlock(ForkJoinPool pool, int blocks, IntConsumer body) {
+        if (blocks > 0) {
+            pool.invoke(new BlockTask(0, blocks, body));
+        }
+    }
+
+    private static volatile long blackholeSink;
+
+    private static void benchmark(int n, ForkJoinPool pool, Random random) {
+        int[] ints = new int[n];
+        long[] longs = new long[n];
+        for (int i = 0; i < n; i++) {
+            ints[i] = random.nextInt();
+            longs[i] = random.nextLong();
+        }
+        System.out.println("\nn = " + n + " (ms)");
+
+        long[] scanA = longs.clone();
+        long[] scanB = longs.clone();
+        long t0 = System.nanoTime();
+        ParallelArrays.prefixSum(scanA, pool);
+        double ours = (System.nanoTime() - t0) / 1e6;
+        t0 = System.nanoTime();
+        java.util.Arrays.parallelPrefix(scanB, Long::sum);
+        double jdk = (System.nanoTime() - t0) / 1e6;
+        System.out.printf("  Prefix sum long:   %8.1f vs parallelPrefix %8.1f (equal: %b)%n",
+                ours, jdk, java.util.Arrays.equals(scanA, scanB));
+
+        int[] sortA = ints.clone();
+        int[] sortB = ints.clone();
+        t0 = System.nanoTime();
+        ParallelArrays.radixSort(sortA, pool);
+        ours = (System.nanoTime() - t0) / 1e6;
+        t0 = System.nanoTime();
+        java.util.Arrays.parallelSort(sortB);
+        jdk = (System.nanoTime() - t0) / 1e6;
+        System.out.printf("  Radix sort int:    %8.1f vs parallelSort   %8.1f (equal: %b)%n",
+                ours, jdk, java.util.Arrays.equals(sortA, sortB));
+
+        long[] sortLongA = longs.clone();
+        long[] sortLongB = longs.clone();
+        t0 = System.nanoTime();
+        ParallelArrays.radixSort(sortLongA, pool);
+        ours = (System.nanoTime() - t0) / 1e6;
+        t0 = System.nanoTime();
+        java.util.Arrays.parallelSort(sortLongB);
+        jdk = (System.nanoTime() - t0) / 1e6;
+        System.out.printf("  Radix sort long:   %8.1f vs parallelSort   %8.1f (equal: %b)%n",
+                ours, jdk, java.util.Arrays.equals(sortLongA, sortLongB));
+
+        t0 = System.nanoTime();
+        int[] even = ParallelArrays.filter(ints, v -> (v & 1) == 0, pool);
+        ours = (System.nanoTime() - t0) / 1e6;
+        t0 = System.nanoTime();
+        int[] evenStream = java.util.Arrays.stream(ints).parallel().filter(v -> (v & 1) == 0).toArray();
+        jdk = (System.nanoTime() - t0) / 1e6;
+        System.out.printf("  Filter int:        %8.1f vs parallel stream %7.1f (equal: %b)%n",
+                ours, jdk, java.util.Arrays.equals(even, evenStream));
+
+        int probes = 2_000_000;
+        int[] keys = new int[probes];
+        for (int i = 0; i < probes; i++) {
+            keys[i] = random.nextInt();
+        }
+        long found = 0;
+        t0 = System.nanoTime();
+        for (int key : keys) {
+            found += ParallelArrays.lowerBound(sortA, key);
+        }
+        ours = (System.nanoTime() - t0) / 1e6;
+        t0 = System.nanoTime();
+        for (int key : keys) {
+            found += java.util.Arrays.binarySearch(sortA, key);
+        }
+        jdk = (System.nanoTime() - t0) / 1e6;
+        blackholeSink += found;
+        System.out.printf("  %dM searches:      %8.1f vs binarySearch   %8.1f%n", probes / 1_000_000, ours, jdk);
+    }
+
     public static void main(String[] args) {
         Runtime runtime = Runtime.getRuntime();
         runtime.gc();
         long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
         long startTime = System.nanoTime();
-        
+
         // Initialize array with 5 elements
         int[] myArray = {10, 20, 30, 40, 50};
 
@@ -18,19 +378,47 @@ public class Arrays {
         for (int i = 0; i < myArray.length; i++) {
             System.out.println("Element " + i + ": " + myArray[i]);
         }
-        
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long[] running = {3, 1, 4, 1, 5};
+        ParallelArrays.prefixSum(running, pool);
+        System.out.println("\nPrefix sums of 3 1 4 1 5: " + java.util.Arrays.toString(running));
+        int[] mixed = {42, -7, 0, 13, -100, 8};
+        ParallelArrays.radixSort(mixed, pool);
+        System.out.println("Sorted: " + java.util.Arrays.toString(mixed));
+        System.out.println("Positive: " + java.util.Arrays.toString(ParallelArrays.filter(mixed, v -> v > 0, pool)));
+        System.out.println("Index of 13: " + ParallelArrays.indexOf(mixed, 13)
+                + ", lower bound of 9: " + ParallelArrays.lowerBound(mixed, 9));
+
         long endTime = System.nanoTime();
         long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
         long memoryUsed = memoryAfter - memoryBefore;
-        
+
+        // Benchmark; pass sizes as arguments, e.g. 1000000 100000000 (heap permitting)
+        System.out.println("\n--- Benchmark (" + pool.getParallelism() + " pool threads) ---");
+        Random random = new Random(42);
+        int[] sizes = {1_000_000, 10_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        benchmark(100_000, pool, random);
+        for (int n : sizes) {
+            benchmark(n, pool, random);
+        }
+
         // Performance statistics
         System.out.println("\n--- Performance Statistics ---");
         System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
         System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
         System.out.println("\nTime Complexity:");
         System.out.println("  - Access: O(1)");
-        System.out.println("  - Search: O(n)");
+        System.out.println("  - Search: O(n), O(log n) sorted");
         System.out.println("  - Insertion: O(n)");
         System.out.println("  - Deletion: O(n)");
+        System.out.println("  - Prefix sum/Filter: O(n) work");
+        System.out.println("  - Radix sort: O(n) work per 8-bit pass");
     }
 }
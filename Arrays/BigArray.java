@@ -0,0 +1,417 @@
+package Arrays;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Demonstrates long-indexed arrays of longs that are not limited to 2^31 elements.
+ * Storage is a table of fixed-size chunks, so element i lives in chunk i >>> SHIFT at
+ * offset i & MASK; growing adds chunks and never copies existing data. The heap variant
+ * uses long[] chunks; the mapped variant maps a file chunk by chunk, so the data can
+ * exceed RAM and survive restarts.
+ * Benchmarks append, random access and bulk transfer against a plain long[].
+ */
+public class BigArray {
+
+    /**
+     * Long-indexed sequence of longs.
+     */
+    interface LongArray {
+        long size();
+
+        long get(long index);
+
+        void set(long index, long value);
+
+        /**
+         * Copy len elements starting at index into dst[offset..]. Crosses chunks as needed.
+         */
+        void get(long index, long[] dst, int offset, int len);
+
+        /**
+         * Copy src[offset .. offset + len) to elements starting at index.
+         */
+        void put(long index, long[] src, int offset, int len);
+    }
+
+    /**
+     * Growable array of longs in heap chunks of 2^20 elements (8 MB).
+     */
+    static class BigLongArray implements LongArray {
+        static final int SHIFT = 20;
+        static final int CHUNK = 1 << SHIFT;
+        static final long MASK = CHUNK - 1;
+
+        private long[][] chunks = new long[0][];
+        private long size;
+
+        public BigLongArray() {
+        }
+
+        public BigLongArray(long size) {
+            resize(size);
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        /**
+         * Return element at index. O(1) operation.
+         */
+        @Override
+        public long get(long index) {
+            checkIndex(index, size);
+            return chunks[(int) (index >>> SHIFT)][(int) (index & MASK)];
+        }
+
+        /**
+         * Set element at index. O(1) operation.
+         */
+        @Override
+        public void set(long index, long value) {
+            checkIndex(index, size);
+            chunks[(int) (index >>> SHIFT)][(int) (index & MASK)] = value;
+        }
+
+        /**
+         * Add value at the end. O(1) amortized; growth allocates one new chunk, never copies data.
+         */
+        public void append(long value) {
+            long index = size;
+            int chunk = (int) (index >>> SHIFT);
+            if (chunk == chunks.length || chunks[chunk] == null) {
+                ensureChunks(chunk + 1);
+            }
+            chunks[chunk][(int) (index & MASK)] = value;
+            size = index + 1;
+        }
+
+        /**
+         * Grow or shrink to newSize elements; new elements are zero. O(chunks added) allocations.
+         */
+        public void resize(long newSize) {
+            if (newSize < 0) {
+                throw new IllegalArgumentException("size must not be negative");
+            }
+            int needed = (int) ((newSize + MASK) >>> SHIFT);
+            ensureChunks(needed);
+            if (newSize < size) {
+                // Zero the tail so a later grow exposes zeros again
+                for (long i = newSize; i < Math.min(size, (long) needed << SHIFT); i++) {
+                    chunks[(int) (i >>> SHIFT)][(int) (i & MASK)] = 0;
+                }
+                for (int c = needed; c < chunks.length; c++) {
+                    chunks[c] = null;
+                }
+            }
+            size = newSize;
+        }
+
+        @Override
+        public void get(long index, long[] dst, int offset, int len) {
+            checkRange(index, len, size);
+            while (len > 0) {
+                int at = (int) (index & MASK);
+                int n = Math.min(len, CHUNK - at);
+                System.arraycopy(chunks[(int) (index >>> SHIFT)], at, dst, offset, n);
+                index += n;
+                offset += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void put(long index, long[] src, int offset, int len) {
+            checkRange(index, len, size);
+            while (len > 0) {
+                int at = (int) (index & MASK);
+                int n = Math.min(len, CHUNK - at);
+                System.arraycopy(src, offset, chunks[(int) (index >>> SHIFT)], at, n);
+                index += n;
+                offset += n;
+                len -= n;
+            }
+        }
+
+        /**
+         * Set elements [from, to) to value, one Arrays.fill per chunk.
+         */
+        public void fill(long from, long to, long value) {
+            checkRange(from, to - from, size);
+            while (from < to) {
+                int at = (int) (from & MASK);
+                int n = (int) Math.min(to - from, CHUNK - at);
+                java.util.Arrays.fill(chunks[(int) (from >>> SHIFT)], at, at + n, value);
+                from += n;
+            }
+        }
+
+        // Only the chunk table (one reference per 8 MB) is ever copied
+        private void ensureChunks(int count) {
+            if (count > chunks.length) {
+                chunks = java.util.Arrays.copyOf(chunks, Math.max(count, chunks.length * 2));
+            }
+            for (int c = 0; c < count; c++) {
+                if (chunks[c] == null) {
+                    chunks[c] = new long[CHUNK];
+                }
+            }
+        }
+    }
+
+    /**
+     * Fixed-length array of longs stored little-endian in a file and mapped in 1 GB chunks.
+     * The OS pages data in and out, so the array can be larger than the heap or RAM.
+     * Mappings are released when the object is garbage collected.
+     */
+    static class MappedLongArray implements LongArray, AutoCloseable {
+        static final int SHIFT = 27;
+        static final int CHUNK = 1 << SHIFT;
+        static final long MASK = CHUNK - 1;
+
+        private final FileChannel channel;
+        private MappedByteBuffer[] maps = new MappedByteBuffer[0];
+        private LongBuffer[] chunks = new LongBuffer[0];
+        private long size;
+
+        /**
+         * Open or create file and map its first size elements. Existing contents are kept.
+         */
+        public MappedLongArray(Path file, long size) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            resize(size);
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long get(long index) {
+            checkIndex(index, size);
+            return chunks[(int) (index >>> SHIFT)].get((int) (index & MASK));
+        }
+
+        @Override
+        public void set(long index, long value) {
+            checkIndex(index, size);
+            chunks[(int) (index >>> SHIFT)].put((int) (index & MASK), value);
+        }
+
+        @Override
+        public void get(long index, long[] dst, int offset, int len) {
+            checkRange(index, len, size);
+            while (len > 0) {
+                int at = (int) (index & MASK);
+                int n = Math.min(len, CHUNK - at);
+                chunks[(int) (index >>> SHIFT)].get(at, dst, offset, n);
+                index += n;
+                offset += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void put(long index, long[] src, int offset, int len) {
+            checkRange(index, len, size);
+            while (len > 0) {
+                int at = (int) (index & MASK);
+                int n = Math.min(len, CHUNK - at);
+                chunks[(int) (index >>> SHIFT)].put(at, src, offset, n);
+                index += n;
+                offset += n;
+                len -= n;
+            }
+        }
+
+        /**
+         * Grow to newSize elements by extending the file and mapping more chunks; existing
+         * mappings stay valid. A partial last chunk is remapped at its new length.
+         */
+        public void resize(long newSize) throws IOException {
+            if (newSize < size) {
+                throw new IllegalArgumentException("mapped arrays only grow");
+            }
+            int count = (int) ((newSize + MASK) >>> SHIFT);
+            MappedByteBuffer[] newMaps = java.util.Arrays.copyOf(maps, count);
+            LongBuffer[] newChunks = java.util.Arrays.copyOf(chunks, count);
+            for (int c = 0; c < count; c++) {
+                long start = (long) c << SHIFT;
+                long length = Math.min(CHUNK, newSize - start);
+                if (newMaps[c] == null || newMaps[c].capacity() != length * Long.BYTES) {
+                    newMaps[c] = channel.map(FileChannel.MapMode.READ_WRITE, start * Long.BYTES, length * Long.BYTES);
+                    newMaps[c].order(ByteOrder.LITTLE_ENDIAN);
+                    newChunks[c] = newMaps[c].asLongBuffer();
+                }
+            }
+            maps = newMaps;
+            chunks = newChunks;
+            size = newSize;
+        }
+
+        /**
+         * Write dirty pages of every chunk to the device.
+         */
+        public void force() {
+            for (MappedByteBuffer map : maps) {
+                map.force();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            force();
+            channel.close();
+        }
+    }
+
+    private static void checkIndex(long index, long size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    private static void checkRange(long index, long len, long size) {
+        if (index < 0 || len < 0 || index + len > size) {
+            throw new IndexOutOfBoundsException("range [" + index + ", " + (index + len) + ") out of bounds for size " + size);
+        }
+    }
+
+    private static volatile long blackholeSink;
+
+    public static void main(String[] args) throws IOException {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        BigLongArray array = new BigLongArray();
+        for (long i = 0; i < 5; i++) {
+            array.append(i * 10);
+        }
+        System.out.println("Size: " + array.size() + ", element 3: " + array.get(3));
+        array.resize(3L * BigLongArray.CHUNK + 7);
+        array.set(array.size() - 1, 99);
+        array.put(BigLongArray.CHUNK - 2, new long[] {1, 2, 3, 4}, 0, 4);
+        long[] window = new long[6];
+        array.get(BigLongArray.CHUNK - 3, window, 0, 6);
+        System.out.println("After resize to " + array.size() + ": last " + array.get(array.size() - 1)
+                + ", across chunk boundary " + java.util.Arrays.toString(window));
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Indexing past 2^31 with a sparse memory-mapped file
+        Path bigFile = Files.createTempFile("bigarray", ".bin");
+        try (MappedLongArray mapped = new MappedLongArray(bigFile, (1L << 31) + 16)) {
+            long far = (1L << 31) + 5;
+            mapped.set(far, 123456789L);
+            System.out.println("Mapped array of " + mapped.size() + " longs, element " + far + ": " + mapped.get(far));
+        } catch (IOException e) {
+            System.out.println("Sparse mapping unavailable here: " + e.getMessage());
+        } finally {
+            Files.deleteIfExists(bigFile);
+        }
+
+        // Benchmark
+        int n = 20_000_000;
+        Random random = new Random(42);
+        System.out.println("\n--- Benchmark (" + n + " longs, ms) ---");
+        for (int round = 0; round < 2; round++) {
+            long t0 = System.nanoTime();
+            BigLongArray big = new BigLongArray();
+            for (int i = 0; i < n; i++) {
+                big.append(i);
+            }
+            double bigAppend = (System.nanoTime() - t0) / 1e6;
+
+            t0 = System.nanoTime();
+            long[] flat = new long[16];
+            for (int i = 0; i < n; i++) {
+                if (i == flat.length) {
+                    flat = java.util.Arrays.copyOf(flat, flat.length * 2);
+                }
+                flat[i] = i;
+            }
+            double flatAppend = (System.nanoTime() - t0) / 1e6;
+
+            long sum = 0;
+            t0 = System.nanoTime();
+            for (int i = 0; i < 10_000_000; i++) {
+                sum += big.get(random.nextInt(n));
+            }
+            double bigRandom = (System.nanoTime() - t0) / 1e6;
+            t0 = System.nanoTime();
+            for (int i = 0; i < 10_000_000; i++) {
+                sum += flat[random.nextInt(n)];
+            }
+            double flatRandom = (System.nanoTime() - t0) / 1e6;
+
+            long[] buffer = new long[1 << 16];
+            t0 = System.nanoTime();
+            for (long i = 0; i + buffer.length <= n; i += buffer.length) {
+                big.get(i, buffer, 0, buffer.length);
+                sum += buffer[buffer.length - 1];
+            }
+            double bulk = (System.nanoTime() - t0) / 1e6;
+            blackholeSink += sum;
+
+            if (round == 1) {
+                System.out.printf("Append:      BigLongArray %7.1f, doubling long[] %7.1f%n", bigAppend, flatAppend);
+                System.out.printf("10M random:  BigLongArray %7.1f, long[]          %7.1f%n", bigRandom, flatRandom);
+                System.out.printf("Bulk get:    %.1f ms (%.2f GB/s)%n", bulk, 8.0 * n / bulk / 1e6);
+            }
+            flat = null;
+            big = null;
+        }
+
+        Path file = Files.createTempFile("bigarray", ".bin");
+        try (MappedLongArray mapped = new MappedLongArray(file, n)) {
+            long[] buffer = new long[1 << 16];
+            long t0 = System.nanoTime();
+            for (long i = 0; i < n; i += buffer.length) {
+                int len = (int) Math.min(buffer.length, n - i);
+                for (int k = 0; k < len; k++) {
+                    buffer[k] = i + k;
+                }
+                mapped.put(i, buffer, 0, len);
+            }
+            mapped.force();
+            double write = (System.nanoTime() - t0) / 1e6;
+            long sum = 0;
+            t0 = System.nanoTime();
+            for (long i = 0; i < n; i += buffer.length) {
+                int len = (int) Math.min(buffer.length, n - i);
+                mapped.get(i, buffer, 0, len);
+                sum += buffer[len - 1];
+            }
+            double read = (System.nanoTime() - t0) / 1e6;
+            blackholeSink += sum;
+            System.out.printf("Mapped file: bulk put + force %.1f, bulk get %.1f%n", write, read);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Get/Set: O(1)");
+        System.out.println("  - Append: O(1) amortized, no data copying");
+        System.out.println("  - Bulk get/put: O(len)");
+        System.out.println("  - Space: O(n) plus at most one partly used chunk");
+    }
+}
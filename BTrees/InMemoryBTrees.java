@@ -0,0 +1,386 @@
+package BTrees;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import SkipList.SkipList;
+
+/**
+ * Demonstrates a cache-conscious in-memory B-Tree of primitive long keys.
+ * Each node keeps its keys in one contiguous long[] spanning a few cache lines
+ * and searches it with a branchless linear scan, so a lookup touches
+ * O(log_B n) nodes instead of O(log n) scattered skip list nodes.
+ * Inserts and deletes keys, then benchmarks lookups per second.
+ */
+public class InMemoryBTrees {
+
+    /**
+     * B-Tree node. Leaves have no children array.
+     */
+    private static class Node {
+        final long[] keys;
+        final Node[] children;
+        int count;
+
+        Node(boolean leaf) {
+            this.keys = new long[BTreeSet.MAX_KEYS];
+            this.children = leaf ? null : new Node[BTreeSet.MAX_KEYS + 1];
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    /**
+     * Set of longs in a B-Tree of minimum degree T (CLRS formulation).
+     * Nodes split on the way down during insert and are refilled by borrowing
+     * or merging on the way down during delete, so both are single-pass.
+     */
+    static class BTreeSet {
+        static final int T = 16;
+        static final int MAX_KEYS = 2 * T - 1;
+
+        private Node root = new Node(true);
+        private int size;
+        private int height = 1;
+
+        /**
+         * Check whether key is present. O(log_B n) nodes, O(B) compares per node.
+         */
+        public boolean contains(long key) {
+            Node x = root;
+            while (true) {
+                int i = rank(x, key);
+                if (i < x.count && x.keys[i] == key) {
+                    return true;
+                }
+                if (x.isLeaf()) {
+                    return false;
+                }
+                x = x.children[i];
+            }
+        }
+
+        /**
+         * Insert key. Returns false if it was already present. O(log_B n) nodes.
+         */
+        public boolean insert(long key) {
+            if (contains(key)) {
+                return false;
+            }
+            if (root.count == MAX_KEYS) {
+                Node newRoot = new Node(false);
+                newRoot.children[0] = root;
+                root = newRoot;
+                splitChild(newRoot, 0);
+                height++;
+            }
+            Node x = root;
+            while (!x.isLeaf()) {
+                int i = rank(x, key);
+                if (x.children[i].count == MAX_KEYS) {
+                    splitChild(x, i);
+                    if (key > x.keys[i]) {
+                        i++;
+                    }
+                }
+                x = x.children[i];
+            }
+            int i = rank(x, key);
+            System.arraycopy(x.keys, i, x.keys, i + 1, x.count - i);
+            x.keys[i] = key;
+            x.count++;
+            size++;
+            return true;
+        }
+
+        /**
+         * Delete key. Returns false if it was absent. O(log_B n) nodes.
+         */
+        public boolean delete(long key) {
+            boolean removed = delete(root, key);
+            if (root.count == 0 && !root.isLeaf()) {
+                root = root.children[0];
+                height--;
+            }
+            if (removed) {
+                size--;
+            }
+            return removed;
+        }
+
+        /**
+         * Return number of keys. O(1) operation.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Return number of levels. O(1) operation.
+         */
+        public int height() {
+            return height;
+        }
+
+        // Number of keys in x smaller than key; branch-free so the JIT can use cmov/SIMD
+        private static int rank(Node x, long key) {
+            long[] keys = x.keys;
+            int n = x.count;
+            int r = 0;
+            for (int j = 0; j < n; j++) {
+                r += keys[j] < key ? 1 : 0;
+            }
+            return r;
+        }
+
+        // Split full child i of x around its median key
+        private static void splitChild(Node x, int i) {
+            Node y = x.children[i];
+            Node z = new Node(y.isLeaf());
+            z.count = T - 1;
+            System.arraycopy(y.keys, T, z.keys, 0, T - 1);
+            if (!y.isLeaf()) {
+                System.arraycopy(y.children, T, z.children, 0, T);
+                Arrays.fill(y.children, T, MAX_KEYS + 1, null);
+            }
+            y.count = T - 1;
+
+            System.arraycopy(x.children, i + 1, x.children, i + 2, x.count - i);
+            x.children[i + 1] = z;
+            System.arraycopy(x.keys, i, x.keys, i + 1, x.count - i);
+            x.keys[i] = y.keys[T - 1];
+            x.count++;
+        }
+
+        private boolean delete(Node x, long key) {
+            while (true) {
+                int i = rank(x, key);
+                if (i < x.count && x.keys[i] == key) {
+                    if (x.isLeaf()) {
+                        System.arraycopy(x.keys, i + 1, x.keys, i, x.count - i - 1);
+                        x.count--;
+                        return true;
+                    }
+                    Node y = x.children[i];
+                    Node z = x.children[i + 1];
+                    if (y.count >= T) {
+                        long pred = max(y);
+                        x.keys[i] = pred;
+                        x = y;
+                        key = pred;
+                    } else if (z.count >= T) {
+                        long succ = min(z);
+                        x.keys[i] = succ;
+                        x = z;
+                        key = succ;
+                    } else {
+                        merge(x, i);
+                        x = y;
+                    }
+                    continue;
+                }
+                if (x.isLeaf()) {
+                    return false;
+                }
+                // Make sure the child we descend into has at least T keys
+                if (x.children[i].count == T - 1) {
+                    if (i > 0 && x.children[i - 1].count >= T) {
+                        borrowFromLeft(x, i);
+                    } else if (i < x.count && x.children[i + 1].count >= T) {
+                        borrowFromRight(x, i);
+                    } else if (i < x.count) {
+                        merge(x, i);
+                    } else {
+                        merge(x, i - 1);
+                        i--;
+                    }
+                }
+                x = x.children[i];
+            }
+        }
+
+        // Fold key i and child i+1 into child i
+        private static void merge(Node x, int i) {
+            Node y = x.children[i];
+            Node z = x.children[i + 1];
+            y.keys[y.count] = x.keys[i];
+            System.arraycopy(z.keys, 0, y.keys, y.count + 1, z.count);
+            if (!y.isLeaf()) {
+                System.arraycopy(z.children, 0, y.children, y.count + 1, z.count + 1);
+            }
+            y.count += z.count + 1;
+
+            System.arraycopy(x.keys, i + 1, x.keys, i, x.count - i - 1);
+            System.arraycopy(x.children, i + 2, x.children, i + 1, x.count - i - 1);
+            x.children[x.count] = null;
+            x.count--;
+        }
+
+        private static void borrowFromLeft(Node x, int i) {
+            Node child = x.children[i];
+            Node left = x.children[i - 1];
+            System.arraycopy(child.keys, 0, child.keys, 1, child.count);
+            child.keys[0] = x.keys[i - 1];
+            if (!child.isLeaf()) {
+                System.arraycopy(child.children, 0, child.children, 1, child.count + 1);
+                child.children[0] = left.children[left.count];
+                left.children[left.count] = null;
+            }
+            x.keys[i - 1] = left.keys[left.count - 1];
+            child.count++;
+            left.count--;
+        }
+
+        private static void borrowFromRight(Node x, int i) {
+            Node child = x.children[i];
+            Node right = x.children[i + 1];
+            child.keys[child.count] = x.keys[i];
+            if (!child.isLeaf()) {
+                child.children[child.count + 1] = right.children[0];
+                System.arraycopy(right.children, 1, right.children, 0, right.count);
+                right.children[right.count] = null;
+            }
+            x.keys[i] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            child.count++;
+            right.count--;
+        }
+
+        private static long max(Node x) {
+            while (!x.isLeaf()) {
+                x = x.children[x.count];
+            }
+            return x.keys[x.count - 1];
+        }
+
+        private static long min(Node x) {
+            while (!x.isLeaf()) {
+                x = x.children[0];
+            }
+            return x.keys[0];
+        }
+    }
+
+    private static volatile long blackholeSink;
+
+    private static double lookupsPerSecond(BTreeSet tree, long[] probes) {
+        long found = 0;
+        long start = System.nanoTime();
+        for (long probe : probes) {
+            if (tree.contains(probe)) {
+                found++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        blackholeSink += found;
+        return probes.length / (elapsed / 1e9);
+    }
+
+    private static double lookupsPerSecond(SkipList.SkipListImpl skipList, long[] probes) {
+        long found = 0;
+        long start = System.nanoTime();
+        for (long probe : probes) {
+            if (skipList.search((int) probe) != null) {
+                found++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        blackholeSink += found;
+        return probes.length / (elapsed / 1e9);
+    }
+
+    // Even pseudo-random key for index i, recomputable so hit probes need not store the keys
+    private static long benchKey(long i) {
+        long z = (i + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) & Long.MAX_VALUE & ~1L;
+    }
+
+    public static void main(String[] args) {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        // Create B-Tree instance
+        BTreeSet tree = new BTreeSet();
+
+        // Insert elements
+        long[] elements = {3, 6, 7, 9, 12, 19, 17, 26, 21, 25};
+        for (long elem : elements) {
+            tree.insert(elem);
+        }
+
+        // Search operations
+        long[] searchKeys = {19, 15, 21};
+        System.out.println("Search results:");
+        for (long key : searchKeys) {
+            System.out.println("Search for " + key + ": " + (tree.contains(key) ? "Found" : "Not found"));
+        }
+
+        // Delete operation
+        tree.delete(17);
+        System.out.println("\nAfter deleting 17: contains(17) = " + tree.contains(17) + ", size = " + tree.size());
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Lookup benchmark; sizes may be given as arguments, e.g. 1000000 100000000
+        long[] sizes = {1_000_000, 4_000_000};
+        if (args.length > 0) {
+            sizes = new long[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Long.parseLong(args[i]);
+            }
+        }
+        int probeCount = 2_000_000;
+        Random random = new Random(42);
+        System.out.println("\n--- Benchmark (random lookups, half hits) ---");
+        for (long n : sizes) {
+            BTreeSet bench = new BTreeSet();
+            long t0 = System.nanoTime();
+            for (long i = 0; i < n; i++) {
+                bench.insert(benchKey(i));
+            }
+            double buildMs = (System.nanoTime() - t0) / 1e6;
+            // Even probes are inserted keys, odd ones can never be present
+            long[] probes = new long[probeCount];
+            for (int i = 0; i < probeCount; i++) {
+                probes[i] = (i & 1) == 0 ? benchKey(Math.floorMod(random.nextLong(), n)) : random.nextLong() & Long.MAX_VALUE | 1L;
+            }
+            System.out.printf("B-Tree n=%d: height %d, build %.0f ms, %.2f M lookups/s%n",
+                    n, bench.height(), buildMs, lookupsPerSecond(bench, probes) / 1e6);
+
+            if (n <= 1_000_000) {
+                SkipList.SkipListImpl skipList = new SkipList.SkipListImpl();
+                BTreeSet intTree = new BTreeSet();
+                for (long i = 0; i < n; i++) {
+                    int key = (int) benchKey(i);
+                    skipList.insert(key);
+                    intTree.insert(key);
+                }
+                long[] intProbes = new long[probeCount];
+                for (int i = 0; i < probeCount; i++) {
+                    intProbes[i] = (i & 1) == 0 ? (int) benchKey(Math.floorMod(random.nextLong(), n)) : random.nextInt() | 1;
+                }
+                System.out.printf("  int keys: B-Tree %.2f M/s vs SkipList %.2f M/s%n",
+                        lookupsPerSecond(intTree, intProbes) / 1e6,
+                        lookupsPerSecond(skipList, intProbes) / 1e6);
+            }
+        }
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Search: O(log n), O(log_B n) cache misses");
+        System.out.println("  - Insert: O(log n), O(log_B n) cache misses");
+        System.out.println("  - Delete: O(log n), O(log_B n) cache misses");
+        System.out.println("  - Space: O(n)");
+    }
+}
@@ -0,0 +1,318 @@
+package BinarySearchTrees;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import SkipList.SkipList;
+
+/**
+ * Demonstrates a binary search tree of primitive int keys that can be frozen
+ * into an Eytzinger (BFS-order) array for read-only lookup tables.
+ * The pointer tree is used for building; the frozen array is searched with a
+ * branchless loop whose next probes sit in adjacent cache lines.
+ * Benchmarks lookups against Arrays.binarySearch and SkipListImpl.search.
+ */
+public class BinarySearchTrees {
+
+    private static class Node {
+        int key;
+        Node left;
+        Node right;
+
+        Node(int key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Mutable, unbalanced binary search tree. All operations are iterative.
+     */
+    static class IntBST {
+        private Node root;
+        private int size;
+
+        /**
+         * Check whether key is present. O(h) time.
+         */
+        public boolean contains(int key) {
+            Node x = root;
+            while (x != null) {
+                if (key < x.key) {
+                    x = x.left;
+                } else if (key > x.key) {
+                    x = x.right;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Insert key. Returns false if already present. O(h) time.
+         */
+        public boolean insert(int key) {
+            if (root == null) {
+                root = new Node(key);
+                size++;
+                return true;
+            }
+            Node x = root;
+            while (true) {
+                if (key < x.key) {
+                    if (x.left == null) {
+                        x.left = new Node(key);
+                        break;
+                    }
+                    x = x.left;
+                } else if (key > x.key) {
+                    if (x.right == null) {
+                        x.right = new Node(key);
+                        break;
+                    }
+                    x = x.right;
+                } else {
+                    return false;
+                }
+            }
+            size++;
+            return true;
+        }
+
+        /**
+         * Delete key. Returns false if absent. O(h) time.
+         */
+        public boolean delete(int key) {
+            Node parent = null;
+            Node x = root;
+            while (x != null && x.key != key) {
+                parent = x;
+                x = key < x.key ? x.left : x.right;
+            }
+            if (x == null) {
+                return false;
+            }
+            if (x.left != null && x.right != null) {
+                // Replace with in-order successor, then unlink the successor
+                Node successorParent = x;
+                Node successor = x.right;
+                while (successor.left != null) {
+                    successorParent = successor;
+                    successor = successor.left;
+                }
+                x.key = successor.key;
+                parent = successorParent;
+                x = successor;
+            }
+            Node child = x.left != null ? x.left : x.right;
+            if (parent == null) {
+                root = child;
+            } else if (parent.left == x) {
+                parent.left = child;
+            } else {
+                parent.right = child;
+            }
+            size--;
+            return true;
+        }
+
+        /**
+         * Return number of keys. O(1) operation.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Return keys in ascending order using an explicit stack. O(n) time.
+         */
+        public int[] toSortedArray() {
+            int[] out = new int[size];
+            Node[] stack = new Node[Math.max(1, size)];
+            int top = 0;
+            int count = 0;
+            Node x = root;
+            while (x != null || top > 0) {
+                while (x != null) {
+                    stack[top++] = x;
+                    x = x.left;
+                }
+                x = stack[--top];
+                out[count++] = x.key;
+                x = x.right;
+            }
+            return out;
+        }
+
+        /**
+         * Snapshot the current keys into an immutable Eytzinger layout. O(n) time.
+         */
+        public EytzingerSet freeze() {
+            return new EytzingerSet(toSortedArray());
+        }
+    }
+
+    /**
+     * Immutable sorted set stored as an implicit complete binary tree in BFS order:
+     * node k has children 2k and 2k+1 (1-based). The top levels share a few cache
+     * lines, and each step's two candidate children are adjacent in memory.
+     */
+    static class EytzingerSet {
+        private final int[] layout;
+        private final int n;
+
+        /**
+         * Build from strictly increasing keys. O(n) time.
+         */
+        EytzingerSet(int[] sorted) {
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i] <= sorted[i - 1]) {
+                    throw new IllegalArgumentException("keys must be strictly increasing");
+                }
+            }
+            this.n = sorted.length;
+            this.layout = new int[n + 1];
+            fill(sorted, 0, 1);
+        }
+
+        /**
+         * Check whether key is present. O(log n), branch-free descent.
+         */
+        public boolean contains(int key) {
+            int k = lowerBoundIndex(key);
+            return k != 0 && layout[k] == key;
+        }
+
+        /**
+         * Return the smallest key >= key, or fallback if none. O(log n) time.
+         */
+        public int ceiling(int key, int fallback) {
+            int k = lowerBoundIndex(key);
+            return k == 0 ? fallback : layout[k];
+        }
+
+        /**
+         * Return number of keys. O(1) operation.
+         */
+        public int size() {
+            return n;
+        }
+
+        // Index in layout of the first key >= key, or 0 if all keys are smaller
+        private int lowerBoundIndex(int key) {
+            int[] b = layout;
+            int k = 1;
+            while (k <= n) {
+                k = 2 * k + (b[k] < key ? 1 : 0);
+            }
+            // Undo the trailing right turns plus the last left turn
+            return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+        }
+
+        // In-order walk of the implicit tree assigns sorted keys; depth is O(log n)
+        private int fill(int[] sorted, int i, int k) {
+            if (k <= n) {
+                i = fill(sorted, i, 2 * k);
+                layout[k] = sorted[i++];
+                i = fill(sorted, i, 2 * k + 1);
+            }
+            return i;
+        }
+    }
+
+    private static volatile long blackholeSink;
+
+    public static void main(String[] args) {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        // Create BST instance
+        IntBST bst = new IntBST();
+
+        // Insert elements
+        int[] elements = {50, 30, 70, 20, 40, 60, 80, 35, 65};
+        for (int elem : elements) {
+            bst.insert(elem);
+        }
+        System.out.println("In-order: " + Arrays.toString(bst.toSortedArray()));
+
+        bst.delete(30);
+        System.out.println("After deleting 30: " + Arrays.toString(bst.toSortedArray()));
+
+        // Freeze into the read-only layout
+        EytzingerSet frozen = bst.freeze();
+        int[] searchKeys = {40, 45, 80};
+        System.out.println("\nSearch results (frozen):");
+        for (int key : searchKeys) {
+            System.out.println("Search for " + key + ": " + (frozen.contains(key) ? "Found" : "Not found")
+                    + ", ceiling " + frozen.ceiling(key, -1));
+        }
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Lookup benchmark
+        int n = 1_000_000;
+        int probeCount = 5_000_000;
+        Random random = new Random(42);
+        IntBST big = new IntBST();
+        SkipList.SkipListImpl skipList = new SkipList.SkipListImpl();
+        for (int i = 0; i < n; i++) {
+            int key = random.nextInt() & ~1;
+            if (big.insert(key)) {
+                skipList.insert(key);
+            }
+        }
+        int[] sorted = big.toSortedArray();
+        EytzingerSet table = big.freeze();
+        int[] probes = new int[probeCount];
+        for (int i = 0; i < probeCount; i++) {
+            probes[i] = (i & 1) == 0 ? sorted[random.nextInt(sorted.length)] : random.nextInt() | 1;
+        }
+
+        System.out.println("\n--- Benchmark (" + sorted.length + " keys, M lookups/s) ---");
+        for (int round = 0; round < 2; round++) {
+            long found = 0;
+            long t0 = System.nanoTime();
+            for (int probe : probes) {
+                found += table.contains(probe) ? 1 : 0;
+            }
+            double eytzinger = probeCount / ((System.nanoTime() - t0) / 1e3);
+            t0 = System.nanoTime();
+            for (int probe : probes) {
+                found += Arrays.binarySearch(sorted, probe) >= 0 ? 1 : 0;
+            }
+            double binary = probeCount / ((System.nanoTime() - t0) / 1e3);
+            t0 = System.nanoTime();
+            for (int probe : probes) {
+                found += big.contains(probe) ? 1 : 0;
+            }
+            double pointer = probeCount / ((System.nanoTime() - t0) / 1e3);
+            t0 = System.nanoTime();
+            for (int probe : probes) {
+                found += skipList.search(probe) != null ? 1 : 0;
+            }
+            double skip = probeCount / ((System.nanoTime() - t0) / 1e3);
+            blackholeSink += found;
+            if (round == 1) {
+                System.out.printf("Eytzinger:            %.2f%n", eytzinger);
+                System.out.printf("Arrays.binarySearch:  %.2f%n", binary);
+                System.out.printf("Pointer BST:          %.2f%n", pointer);
+                System.out.printf("SkipList:             %.2f%n", skip);
+            }
+        }
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - BST Search/Insert/Delete: O(h), O(log n) average");
+        System.out.println("  - Freeze: O(n)");
+        System.out.println("  - Frozen search: O(log n)");
+        System.out.println("  - Space: O(n)");
+    }
+}
@@ -0,0 +1,592 @@
+package Binary_Trees;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Demonstrates binary tree traversals that never recurse, so degenerate trees
+ * of millions of nodes cannot overflow the call stack.
+ * In-order and pre-order use Morris threading (O(1) extra space); post-order and
+ * level-order reuse one growable array; none allocate per node.
+ * Also folds and maps subtrees in parallel on a ForkJoinPool.
+ */
+public class Binary_Trees {
+
+    static class Node {
+        long value;
+        Node left;
+        Node right;
+
+        Node(long value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Primitive iterator over tree values.
+     */
+    interface LongCursor {
+        boolean hasNext();
+
+        long next();
+    }
+
+    /**
+     * Cursor that computes one value ahead so hasNext is exact.
+     */
+    private abstract static class LookaheadCursor implements LongCursor {
+        private boolean ready;
+        private boolean pending;
+        private long pendingValue;
+
+        /**
+         * Move to the next value and store it with emit; return false when exhausted.
+         */
+        abstract boolean advance();
+
+        final boolean emit(long value) {
+            pendingValue = value;
+            return true;
+        }
+
+        @Override
+        public final boolean hasNext() {
+            if (!ready) {
+                pending = advance();
+                ready = true;
+            }
+            return pending;
+        }
+
+        @Override
+        public final long next() {
+            if (!hasNext()) {
+                throw new IllegalStateException("traversal exhausted");
+            }
+            ready = false;
+            return pendingValue;
+        }
+    }
+
+    /**
+     * Morris in-order traversal. Threads are removed as the walk passes them,
+     * so the tree is restored once the cursor is exhausted.
+     */
+    static class MorrisInOrder extends LookaheadCursor {
+        private Node current;
+
+        MorrisInOrder(Node root) {
+            this.current = root;
+        }
+
+        @Override
+        boolean advance() {
+            while (current != null) {
+                if (current.left == null) {
+                    long value = current.value;
+                    current = current.right;
+                    return emit(value);
+                }
+                Node pre = current.left;
+                while (pre.right != null && pre.right != current) {
+                    pre = pre.right;
+                }
+                if (pre.right == null) {
+                    pre.right = current;
+                    current = current.left;
+                } else {
+                    pre.right = null;
+                    long value = current.value;
+                    current = current.right;
+                    return emit(value);
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Morris pre-order traversal. Same threading contract as MorrisInOrder.
+     */
+    static class MorrisPreOrder extends LookaheadCursor {
+        private Node current;
+
+        MorrisPreOrder(Node root) {
+            this.current = root;
+        }
+
+        @Override
+        boolean advance() {
+            while (current != null) {
+                if (current.left == null) {
+                    long value = current.value;
+                    current = current.right;
+                    return emit(value);
+                }
+                Node pre = current.left;
+                while (pre.right != null && pre.right != current) {
+                    pre = pre.right;
+                }
+                if (pre.right == null) {
+                    pre.right = current;
+                    long value = current.value;
+                    current = current.left;
+                    return emit(value);
+                }
+                pre.right = null;
+                current = current.right;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Growable array of node references used as an explicit stack or circular queue.
+     */
+    private static class NodeBuffer {
+        Node[] items = new Node[64];
+
+        Node[] grow() {
+            Node[] bigger = new Node[items.length * 2];
+            System.arraycopy(items, 0, bigger, 0, items.length);
+            items = bigger;
+            return bigger;
+        }
+    }
+
+    /**
+     * Iterative in-order traversal with an explicit stack; read-only alternative to Morris.
+     */
+    static class StackInOrder implements LongCursor {
+        private final NodeBuffer stack = new NodeBuffer();
+        private int top;
+        private Node current;
+
+        StackInOrder(Node root) {
+            this.current = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null || top > 0;
+        }
+
+        @Override
+        public long next() {
+            while (current != null) {
+                if (top == stack.items.length) {
+                    stack.grow();
+                }
+                stack.items[top++] = current;
+                current = current.left;
+            }
+            if (top == 0) {
+                throw new IllegalStateException("traversal exhausted");
+            }
+            Node node = stack.items[--top];
+            stack.items[top] = null;
+            current = node.right;
+            return node.value;
+        }
+    }
+
+    /**
+     * Iterative post-order traversal with an explicit stack and a last-visited marker.
+     */
+    static class StackPostOrder implements LongCursor {
+        private final NodeBuffer stack = new NodeBuffer();
+        private int top;
+        private Node current;
+        private Node lastVisited;
+
+        StackPostOrder(Node root) {
+            this.current = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null || top > 0;
+        }
+
+        @Override
+        public long next() {
+            while (true) {
+                if (current != null) {
+                    if (top == stack.items.length) {
+                        stack.grow();
+                    }
+                    stack.items[top++] = current;
+                    current = current.left;
+                    continue;
+                }
+                if (top == 0) {
+                    throw new IllegalStateException("traversal exhausted");
+                }
+                Node peek = stack.items[top - 1];
+                if (peek.right != null && peek.right != lastVisited) {
+                    current = peek.right;
+                    continue;
+                }
+                stack.items[--top] = null;
+                lastVisited = peek;
+                return peek.value;
+            }
+        }
+    }
+
+    /**
+     * Breadth-first traversal over a circular array queue.
+     */
+    static class LevelOrder implements LongCursor {
+        private final NodeBuffer queue = new NodeBuffer();
+        private int head;
+        private int count;
+
+        LevelOrder(Node root) {
+            if (root != null) {
+                offer(root);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return count > 0;
+        }
+
+        @Override
+        public long next() {
+            if (count == 0) {
+                throw new IllegalStateException("traversal exhausted");
+            }
+            Node node = queue.items[head];
+            queue.items[head] = null;
+            head = (head + 1) & (queue.items.length - 1);
+            count--;
+            if (node.left != null) {
+                offer(node.left);
+            }
+            if (node.right != null) {
+                offer(node.right);
+            }
+            return node.value;
+        }
+
+        private void offer(Node node) {
+            Node[] items = queue.items;
+            if (count == items.length) {
+                // Unwrap into the doubled array so the queue starts at index 0
+                Node[] bigger = new Node[items.length * 2];
+                int firstPart = items.length - head;
+                System.arraycopy(items, head, bigger, 0, firstPart);
+                System.arraycopy(items, 0, bigger, firstPart, head);
+                queue.items = bigger;
+                head = 0;
+                items = bigger;
+            }
+            items[(head + count) & (items.length - 1)] = node;
+            count++;
+        }
+    }
+
+    /**
+     * Binary tree of long values with stack-safe traversals and parallel subtree processing.
+     * Morris-based operations temporarily rewire right pointers, so they must not run
+     * concurrently with other traversals of the same subtree.
+     */
+    static class BinaryTree {
+        private Node root;
+
+        BinaryTree(Node root) {
+            this.root = root;
+        }
+
+        /**
+         * Build a height-balanced tree whose in-order sequence is 0..n-1. O(n) time.
+         */
+        static BinaryTree balanced(int n) {
+            return new BinaryTree(buildBalanced(0, n));
+        }
+
+        /**
+         * Build a left-leaning chain whose in-order sequence is 0..n-1. O(n) time.
+         */
+        static BinaryTree leftSkewed(int n) {
+            return new BinaryTree(chainRoot(n));
+        }
+
+        Node root() {
+            return root;
+        }
+
+        LongCursor inOrder() {
+            return new MorrisInOrder(root);
+        }
+
+        LongCursor preOrder() {
+            return new MorrisPreOrder(root);
+        }
+
+        LongCursor postOrder() {
+            return new StackPostOrder(root);
+        }
+
+        LongCursor levelOrder() {
+            return new LevelOrder(root);
+        }
+
+        /**
+         * Fold map(value) over all nodes in in-order with an associative combine. O(n) work.
+         */
+        long fold(LongUnaryOperator map, LongBinaryOperator combine, long identity) {
+            return foldSequential(root, map, combine, identity);
+        }
+
+        /**
+         * Parallel fold: forks left and right subtrees down to forkDepth levels,
+         * then folds each remaining subtree iteratively. O(n) work.
+         */
+        long parallelFold(LongUnaryOperator map, LongBinaryOperator combine, long identity,
+                          ForkJoinPool pool, int forkDepth) {
+            return pool.invoke(new FoldTask(root, 0, forkDepth, map, combine, identity));
+        }
+
+        /**
+         * Replace every value v with map(v), forking subtrees down to forkDepth levels. O(n) work.
+         */
+        void parallelMap(LongUnaryOperator map, ForkJoinPool pool, int forkDepth) {
+            pool.invoke(new MapTask(root, 0, forkDepth, map));
+        }
+
+        private static long foldSequential(Node subtree, LongUnaryOperator map,
+                                           LongBinaryOperator combine, long identity) {
+            long acc = identity;
+            MorrisInOrder cursor = new MorrisInOrder(subtree);
+            while (cursor.hasNext()) {
+                acc = combine.applyAsLong(acc, map.applyAsLong(cursor.next()));
+            }
+            return acc;
+        }
+
+        private static Node buildBalanced(long from, long to) {
+            if (from >= to) {
+                return null;
+            }
+            long mid = (from + to) >>> 1;
+            Node node = new Node(mid);
+            node.left = buildBalanced(from, mid);
+            node.right = buildBalanced(mid + 1, to);
+            return node;
+        }
+
+        private static Node chainRoot(int n) {
+            Node root = null;
+            for (int i = 0; i < n; i++) {
+                Node node = new Node(i);
+                node.left = root;
+                root = node;
+            }
+            return root;
+        }
+    }
+
+    private static class FoldTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Node node;
+        private final int depth;
+        private final int forkDepth;
+        private final LongUnaryOperator map;
+        private final LongBinaryOperator combine;
+        private final long identity;
+
+        FoldTask(Node node, int depth, int forkDepth, LongUnaryOperator map,
+                 LongBinaryOperator combine, long identity) {
+            this.node = node;
+            this.depth = depth;
+            this.forkDepth = forkDepth;
+            this.map = map;
+            this.combine = combine;
+            this.identity = identity;
+        }
+
+        @Override
+        protected Long compute() {
+            if (node == null) {
+                return identity;
+            }
+            if (depth >= forkDepth) {
+                return BinaryTree.foldSequential(node, map, combine, identity);
+            }
+            FoldTask left = new FoldTask(node.left, depth + 1, forkDepth, map, combine, identity);
+            left.fork();
+            long right = new FoldTask(node.right, depth + 1, forkDepth, map, combine, identity).compute();
+            long acc = combine.applyAsLong(left.join(), map.applyAsLong(node.value));
+            return combine.applyAsLong(acc, right);
+        }
+    }
+
+    private static class MapTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Node node;
+        private final int depth;
+        private final int forkDepth;
+        private final LongUnaryOperator map;
+
+        MapTask(Node node, int depth, int forkDepth, LongUnaryOperator map) {
+            this.node = node;
+            this.depth = depth;
+            this.forkDepth = forkDepth;
+            this.map = map;
+        }
+
+        @Override
+        protected void compute() {
+            if (node == null) {
+                return;
+            }
+            if (depth >= forkDepth) {
+                mapSequential(node);
+                return;
+            }
+            node.value = map.applyAsLong(node.value);
+            invokeAll(new MapTask(node.left, depth + 1, forkDepth, map),
+                    new MapTask(node.right, depth + 1, forkDepth, map));
+        }
+
+        // Morris pre-order walk applying map to each node
+        private void mapSequential(Node current) {
+            while (current != null) {
+                if (current.left == null) {
+                    current.value = map.applyAsLong(current.value);
+                    current = current.right;
+                    continue;
+                }
+                Node pre = current.left;
+                while (pre.right != null && pre.right != current) {
+                    pre = pre.right;
+                }
+                if (pre.right == null) {
+                    current.value = map.applyAsLong(current.value);
+                    pre.right = current;
+                    current = current.left;
+                } else {
+                    pre.right = null;
+                    current = current.right;
+                }
+            }
+        }
+    }
+
+    private static long recursiveSum(Node node) {
+        return node == null ? 0 : recursiveSum(node.left) + node.value + recursiveSum(node.right);
+    }
+
+    private static String collect(LongCursor cursor) {
+        StringBuilder sb = new StringBuilder();
+        while (cursor.hasNext()) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(cursor.next());
+        }
+        return sb.toString();
+    }
+
+    private static double millis(long start) {
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static void benchmark(String name, BinaryTree tree, ForkJoinPool pool, int forkDepth) {
+        long t0 = System.nanoTime();
+        long sum = 0;
+        LongCursor cursor = tree.inOrder();
+        while (cursor.hasNext()) {
+            sum += cursor.next();
+        }
+        double morris = millis(t0);
+
+        t0 = System.nanoTime();
+        cursor = new StackInOrder(tree.root());
+        while (cursor.hasNext()) {
+            sum -= cursor.next();
+        }
+        double stack = millis(t0);
+
+        t0 = System.nanoTime();
+        cursor = tree.postOrder();
+        while (cursor.hasNext()) {
+            sum += cursor.next();
+        }
+        double post = millis(t0);
+
+        t0 = System.nanoTime();
+        cursor = tree.levelOrder();
+        while (cursor.hasNext()) {
+            sum -= cursor.next();
+        }
+        double level = millis(t0);
+
+        t0 = System.nanoTime();
+        long sequential = tree.fold(v -> v * v, Long::sum, 0);
+        double seqFold = millis(t0);
+
+        t0 = System.nanoTime();
+        long parallel = tree.parallelFold(v -> v * v, Long::sum, 0, pool, forkDepth);
+        double parFold = millis(t0);
+
+        String recursive;
+        try {
+            recursive = recursiveSum(tree.root()) >= 0 ? "ok" : "?";
+        } catch (StackOverflowError e) {
+            recursive = "StackOverflowError";
+        }
+
+        System.out.printf("%-9s in-order Morris %.1f ms, stack %.1f ms | post-order %.1f ms | level-order %.1f ms%n",
+                name, morris, stack, post, level);
+        System.out.printf("%-9s fold sequential %.1f ms, parallel %.1f ms (%s) | recursive walk: %s%n",
+                "", seqFold, parFold, sequential == parallel && sum == 0 ? "results match" : "MISMATCH", recursive);
+    }
+
+    public static void main(String[] args) {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        // Create a small balanced tree with values 0..6
+        BinaryTree tree = BinaryTree.balanced(7);
+        System.out.println("In-order:    " + collect(tree.inOrder()));
+        System.out.println("Pre-order:   " + collect(tree.preOrder()));
+        System.out.println("Post-order:  " + collect(tree.postOrder()));
+        System.out.println("Level-order: " + collect(tree.levelOrder()));
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        tree.parallelMap(v -> v * 10, pool, 2);
+        System.out.println("After parallel map x10: " + collect(tree.inOrder()));
+        System.out.println("Parallel sum: " + tree.parallelFold(v -> v, Long::sum, 0, pool, 2));
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Traversal benchmark on balanced and degenerate trees
+        int n = 2_000_000;
+        int forkDepth = 32 - Integer.numberOfLeadingZeros(pool.getParallelism()) + 3;
+        System.out.println("\n--- Benchmark (" + n + " nodes, fork depth " + forkDepth + ") ---");
+        benchmark("balanced", BinaryTree.balanced(n), pool, forkDepth);
+        benchmark("skewed", BinaryTree.leftSkewed(n), pool, forkDepth);
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Morris in-order/pre-order: O(n) time, O(1) space");
+        System.out.println("  - Post-order/level-order: O(n) time, O(h)/O(w) space");
+        System.out.println("  - Parallel fold/map: O(n) work");
+    }
+}
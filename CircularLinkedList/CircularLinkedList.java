@@ -0,0 +1,494 @@
+package CircularLinkedList;
+
+import Metrics.MemoryLayout;
+import Serialization.Serialization;
+import Serialization.Serialization.BlockReader;
+import Serialization.Serialization.BlockWriter;
+import Serialization.Serialization.Codec;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Demonstrates circular linked list operations.
+ * Walks a cursor round the ring, inserts and removes at the cursor,
+ * keeps recent events in an overwrite-oldest ring, and benchmarks
+ * round-robin dispatch while membership changes.
+ */
+public class CircularLinkedList {
+    /**
+     * Circular singly linked list with a cursor.
+     * The cursor keeps a reference to the node before the current one,
+     * so advancing, inserting and removing at the cursor are all O(1).
+     */
+    static class Node<T> {
+        T data;
+        Node<T> next;
+
+        Node(T data) {
+            this.data = data;
+            this.next = null;
+        }
+    }
+
+    static class CircularLinkedListImpl<T> {
+        private Node<T> cursor;
+        private int size;
+
+        CircularLinkedListImpl() {
+            this.cursor = null;
+            this.size = 0;
+        }
+
+        /**
+         * Check if list is empty. O(1) operation.
+         */
+        boolean isEmpty() {
+            return cursor == null;
+        }
+
+        /**
+         * Return number of elements in list. O(1) operation.
+         */
+        int getSize() {
+            return size;
+        }
+
+        /**
+         * Bytes held by the list and its nodes, not counting the elements. O(1) operation.
+         */
+        long retainedSize() {
+            return MemoryLayout.object(MemoryLayout.REFERENCE + 4)
+                    + size * MemoryLayout.object(2L * MemoryLayout.REFERENCE);
+        }
+
+        /**
+         * Write one turn of the ring, starting at the current element, as one OBJECT block. O(n) time.
+         */
+        void writeTo(BlockWriter out, Codec<? super T> codec) throws IOException {
+            out.beginStructure(Serialization.CIRCULAR_LINKED_LIST);
+            out.beginBlock(Serialization.OBJECT_BLOCK, size);
+            Node<T> current = isEmpty() ? null : cursor.next;
+            for (int i = 0; i < size; i++) {
+                codec.write(out, current.data);
+                current = current.next;
+            }
+        }
+
+        /**
+         * Rebuild a ring written by writeTo; the first element read becomes current. O(n) time.
+         */
+        static <T> CircularLinkedListImpl<T> readFrom(BlockReader in, Codec<T> codec) throws IOException {
+            in.beginStructure(Serialization.CIRCULAR_LINKED_LIST);
+            int count = in.beginArrayBlock(Serialization.OBJECT_BLOCK);
+            CircularLinkedListImpl<T> list = new CircularLinkedListImpl<>();
+            Node<T> first = null;
+            Node<T> last = null;
+            for (int i = 0; i < count; i++) {
+                Node<T> node = new Node<>(codec.read(in));
+                if (last == null) {
+                    first = node;
+                } else {
+                    last.next = node;
+                }
+                last = node;
+            }
+            if (last != null) {
+                last.next = first;
+            }
+            // The cursor sits on the node before the current one
+            list.cursor = last;
+            list.size = count;
+            return list;
+        }
+
+        /**
+         * Return element under the cursor, or null if empty. O(1) operation.
+         */
+        T current() {
+            return isEmpty() ? null : cursor.next.data;
+        }
+
+        /**
+         * Move cursor to the next element and return it, or null if empty. O(1) operation.
+         */
+        T advance() {
+            if (isEmpty()) {
+                return null;
+            }
+            cursor = cursor.next;
+            return cursor.next.data;
+        }
+
+        /**
+         * Insert element before the current one; it becomes the current element. O(1) operation.
+         */
+        void insertAtCursor(T data) {
+            Node<T> newNode = new Node<>(data);
+            if (isEmpty()) {
+                newNode.next = newNode;
+                cursor = newNode;
+            } else {
+                newNode.next = cursor.next;
+                cursor.next = newNode;
+            }
+            size++;
+        }
+
+        /**
+         * Remove the current element; its successor becomes current. O(1) operation.
+         */
+        T removeAtCursor() {
+            if (isEmpty()) {
+                return null;
+            }
+
+            Node<T> removed = cursor.next;
+            if (removed == cursor) {
+                cursor = null;
+            } else {
+                cursor.next = removed.next;
+            }
+            size--;
+            return removed.data;
+        }
+
+        /**
+         * Delete first occurrence of value, starting from the cursor. O(n) operation.
+         */
+        boolean deleteByValue(T value) {
+            for (int i = 0; i < size; i++) {
+                if (cursor.next.data.equals(value)) {
+                    removeAtCursor();
+                    return true;
+                }
+                cursor = cursor.next;
+            }
+            return false;
+        }
+
+        /**
+         * Display one full turn of the ring starting at the cursor.
+         */
+        void display() {
+            if (isEmpty()) {
+                System.out.println("List is empty");
+                return;
+            }
+
+            Node<T> current = cursor.next;
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < size; i++) {
+                sb.append(current.data.toString()).append(" -> ");
+                current = current.next;
+            }
+            sb.append("(back to ").append(cursor.next.data).append(")");
+            System.out.println(sb.toString());
+        }
+    }
+
+    /**
+     * Fixed-capacity ring of preallocated nodes that overwrites the oldest entry when full.
+     */
+    static class OverwritingRing<T> {
+        private final int capacity;
+        private Node<T> oldest;
+        private Node<T> write;
+        private int size;
+
+        OverwritingRing(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            this.capacity = capacity;
+            Node<T> first = new Node<>(null);
+            Node<T> last = first;
+            for (int i = 1; i < capacity; i++) {
+                last.next = new Node<>(null);
+                last = last.next;
+            }
+            last.next = first;
+            this.oldest = first;
+            this.write = first;
+        }
+
+        /**
+         * Append element, overwriting the oldest one if the ring is full. O(1) operation.
+         */
+        void add(T data) {
+            write.data = data;
+            write = write.next;
+            if (size == capacity) {
+                oldest = oldest.next;
+            } else {
+                size++;
+            }
+        }
+
+        /**
+         * Return number of retained elements. O(1) operation.
+         */
+        int getSize() {
+            return size;
+        }
+
+        /**
+         * Return retained elements from oldest to newest. O(n) operation.
+         */
+        List<T> snapshot() {
+            List<T> result = new ArrayList<>(size);
+            Node<T> current = oldest;
+            for (int i = 0; i < size; i++) {
+                result.add(current.data);
+                current = current.next;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Round-robin dispatcher over a copy-on-write member array.
+     * Readers never lock; add/remove publish a new array with a CAS.
+     */
+    static class RoundRobinDispatcher<T> {
+        private final AtomicReference<Object[]> members = new AtomicReference<>(new Object[0]);
+        private final AtomicInteger position = new AtomicInteger();
+
+        /**
+         * Return the next member in rotation, or null if there are none. O(1) operation.
+         */
+        @SuppressWarnings("unchecked")
+        T next() {
+            Object[] snapshot = members.get();
+            if (snapshot.length == 0) {
+                return null;
+            }
+            int index = (position.getAndIncrement() & Integer.MAX_VALUE) % snapshot.length;
+            return (T) snapshot[index];
+        }
+
+        /**
+         * Add a member. O(n) copy.
+         */
+        void add(T member) {
+            while (true) {
+                Object[] current = members.get();
+                Object[] updated = Arrays.copyOf(current, current.length + 1);
+                updated[current.length] = member;
+                if (members.compareAndSet(current, updated)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Remove first occurrence of member. O(n) copy.
+         */
+        boolean remove(T member) {
+            while (true) {
+                Object[] current = members.get();
+                int index = -1;
+                for (int i = 0; i < current.length; i++) {
+                    if (current[i].equals(member)) {
+                        index = i;
+                        break;
+                    }
+                }
+                if (index < 0) {
+                    return false;
+                }
+                Object[] updated = new Object[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, index);
+                System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+                if (members.compareAndSet(current, updated)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Dispatch from several threads while one thread churns membership.
+     * Returns million dispatches per second.
+     */
+    private static double benchmarkCopyOnWrite(int threads, int dispatchesPerThread) throws InterruptedException {
+        RoundRobinDispatcher<String> dispatcher = new RoundRobinDispatcher<>();
+        for (int i = 0; i < 8; i++) {
+            dispatcher.add("backend-" + i);
+        }
+        return runDispatch(threads, dispatchesPerThread, dispatcher::next,
+                i -> dispatcher.add("extra-" + i), i -> dispatcher.remove("extra-" + i));
+    }
+
+    /**
+     * Same workload against a cursor list guarded by a single monitor.
+     */
+    private static double benchmarkLocked(int threads, int dispatchesPerThread) throws InterruptedException {
+        CircularLinkedListImpl<String> ring = new CircularLinkedListImpl<>();
+        for (int i = 0; i < 8; i++) {
+            ring.insertAtCursor("backend-" + i);
+        }
+        return runDispatch(threads, dispatchesPerThread,
+                () -> {
+                    synchronized (ring) {
+                        return ring.advance();
+                    }
+                },
+                i -> {
+                    synchronized (ring) {
+                        ring.insertAtCursor("extra-" + i);
+                    }
+                },
+                i -> {
+                    synchronized (ring) {
+                        ring.deleteByValue("extra-" + i);
+                    }
+                });
+    }
+
+    private static double runDispatch(int threads, int dispatchesPerThread,
+                                      Supplier<String> dispatch,
+                                      IntConsumer join,
+                                      IntConsumer leave) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong nulls = new AtomicLong();
+        Thread churn = new Thread(() -> {
+            int i = 0;
+            while (running.get()) {
+                join.accept(i);
+                leave.accept(i);
+                i++;
+            }
+        });
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < dispatchesPerThread; i++) {
+                    if (dispatch.get() == null) {
+                        nulls.incrementAndGet();
+                    }
+                }
+            });
+        }
+        churn.start();
+        long start = System.nanoTime();
+        for (Thread w : workers) {
+            w.start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        running.set(false);
+        churn.join();
+        if (nulls.get() > 0) {
+            System.out.println("Warning: " + nulls.get() + " dispatches found no member");
+        }
+        return (double) threads * dispatchesPerThread / (elapsed / 1_000.0);
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        long startTime = System.nanoTime();
+        long memoryBefore = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+
+        // Create circular linked list instance
+        CircularLinkedListImpl<Integer> cll = new CircularLinkedListImpl<>();
+
+        // Insert elements at the cursor
+        cll.insertAtCursor(40);
+        cll.insertAtCursor(30);
+        cll.insertAtCursor(20);
+        cll.insertAtCursor(10);
+
+        System.out.println("List after insertions:");
+        cll.display();
+
+        // Round-robin walk
+        System.out.println("\nAdvancing cursor 6 times:");
+        StringBuilder walk = new StringBuilder(String.valueOf(cll.current()));
+        for (int i = 0; i < 6; i++) {
+            walk.append(" -> ").append(cll.advance());
+        }
+        System.out.println(walk);
+
+        // Remove at cursor
+        System.out.println("\nRemoved at cursor: " + cll.removeAtCursor());
+        cll.display();
+
+        cll.deleteByValue(10);
+        System.out.println("\nList after deleting 10:");
+        cll.display();
+
+        // Recent events ring
+        OverwritingRing<String> recent = new OverwritingRing<>(3);
+        for (int i = 1; i <= 5; i++) {
+            recent.add("event-" + i);
+        }
+        System.out.println("\nLast 3 events: " + recent.snapshot());
+
+        long endTime = System.nanoTime();
+        long memoryAfter = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Dispatch throughput under membership churn
+        int dispatches = 2_000_000;
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        System.out.println("\n--- Dispatch benchmark (" + threads + " threads, M dispatches/s) ---");
+        System.out.printf("Copy-on-write snapshot: %.2f%n", benchmarkCopyOnWrite(threads, dispatches));
+        System.out.printf("Locked cursor list:     %.2f%n", benchmarkLocked(threads, dispatches));
+
+        // Retained size from the node layout, checked against the heap
+        int count = 1_000_000;
+        CircularLinkedListImpl<Integer> measured = new CircularLinkedListImpl<>();
+        long heapDelta = MemoryLayout.measure(() -> {
+            for (int i = 0; i < count; i++) {
+                measured.insertAtCursor(i & 127);
+            }
+            return measured;
+        });
+        long retained = measured.retainedSize();
+        System.out.printf("Retained size at %d elements: %d bytes (%.1f bytes/element), heap delta %d bytes%n",
+                count, retained, (double) retained / count, heapDelta);
+
+        // Round trip through the binary format
+        Path file = Files.createTempFile("circularlinkedlist", ".bin");
+        try {
+            long t0 = System.nanoTime();
+            try (BlockWriter out = BlockWriter.create(file)) {
+                measured.writeTo(out, Serialization.INTEGERS);
+            }
+            long t1 = System.nanoTime();
+            CircularLinkedListImpl<Integer> loaded;
+            try (BlockReader in = BlockReader.open(file)) {
+                loaded = CircularLinkedListImpl.readFrom(in, Serialization.INTEGERS);
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("Saved %d elements in %d bytes: write %.1f ms, read %.1f ms, current after reload %d%n",
+                    count, Files.size(file), (t1 - t0) / 1e6, (t2 - t1) / 1e6, loaded.current());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.println("Execution time: " + ((endTime - startTime) / 1_000_000.0) + " ms");
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("Final list size: " + cll.getSize());
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Advance cursor: O(1)");
+        System.out.println("  - Insert at cursor: O(1)");
+        System.out.println("  - Remove at cursor: O(1)");
+        System.out.println("  - Delete by value: O(n)");
+        System.out.println("  - Ring add (overwrite oldest): O(1)");
+        System.out.println("  - Round-robin next: O(1), membership change: O(n)");
+    }
+}
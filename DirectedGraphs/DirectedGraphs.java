@@ -0,0 +1,340 @@
+package DirectedGraphs;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Demonstrates a directed graph in compressed sparse row (CSR) form.
+ * Out-edges of vertex u are targets[offsets[u] .. offsets[u + 1]), so the whole
+ * graph is two int arrays; an optional reverse (CSC) index stores in-edges the same way.
+ * Builds graphs from edge lists and benchmarks construction and neighbour scans.
+ */
+public class DirectedGraphs {
+
+    /**
+     * Immutable directed graph over vertices 0..n-1 in CSR layout.
+     * Neighbour lists are sorted by target id.
+     */
+    static class CSRGraph {
+        private final int vertexCount;
+        private final int[] offsets;
+        private final int[] targets;
+        private final int[] inOffsets;
+        private final int[] sources;
+
+        private CSRGraph(int vertexCount, int[] offsets, int[] targets, int[] inOffsets, int[] sources) {
+            this.vertexCount = vertexCount;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.inOffsets = inOffsets;
+            this.sources = sources;
+        }
+
+        /**
+         * Return number of vertices. O(1) operation.
+         */
+        public int vertexCount() {
+            return vertexCount;
+        }
+
+        /**
+         * Return number of edges. O(1) operation.
+         */
+        public int edgeCount() {
+            return offsets[vertexCount];
+        }
+
+        /**
+         * Return number of out-edges of u. O(1) operation.
+         */
+        public int outDegree(int u) {
+            return offsets[u + 1] - offsets[u];
+        }
+
+        /**
+         * Index of u's first out-edge; iterate e from here to outEnd(u) and read target(e).
+         */
+        public int outStart(int u) {
+            return offsets[u];
+        }
+
+        /**
+         * Index one past u's last out-edge.
+         */
+        public int outEnd(int u) {
+            return offsets[u + 1];
+        }
+
+        /**
+         * Return the target of out-edge e. O(1) operation.
+         */
+        public int target(int e) {
+            return targets[e];
+        }
+
+        /**
+         * Check whether edge u -> v exists. O(log deg(u)) time.
+         */
+        public boolean hasEdge(int u, int v) {
+            return Arrays.binarySearch(targets, offsets[u], offsets[u + 1], v) >= 0;
+        }
+
+        /**
+         * Check whether the reverse index was built.
+         */
+        public boolean hasReverse() {
+            return inOffsets != null;
+        }
+
+        /**
+         * Return number of in-edges of v. O(1) operation; requires the reverse index.
+         */
+        public int inDegree(int v) {
+            requireReverse();
+            return inOffsets[v + 1] - inOffsets[v];
+        }
+
+        /**
+         * Index of v's first in-edge; iterate e from here to inEnd(v) and read source(e).
+         */
+        public int inStart(int v) {
+            requireReverse();
+            return inOffsets[v];
+        }
+
+        /**
+         * Index one past v's last in-edge.
+         */
+        public int inEnd(int v) {
+            requireReverse();
+            return inOffsets[v + 1];
+        }
+
+        /**
+         * Return the source of in-edge e. O(1) operation.
+         */
+        public int source(int e) {
+            return sources[e];
+        }
+
+        private void requireReverse() {
+            if (inOffsets == null) {
+                throw new IllegalStateException("graph was built without a reverse index");
+            }
+        }
+
+        /**
+         * Print each vertex's out-neighbours.
+         */
+        void display() {
+            for (int u = 0; u < vertexCount; u++) {
+                StringBuilder sb = new StringBuilder();
+                sb.append(u).append(" ->");
+                for (int e = outStart(u); e < outEnd(u); e++) {
+                    sb.append(' ').append(target(e));
+                }
+                System.out.println(sb);
+            }
+        }
+    }
+
+    /**
+     * Collects edges into growable int arrays, then builds a CSRGraph by counting sort
+     * on the source vertex and sorting each neighbour list in parallel.
+     */
+    static class CSRGraphBuilder {
+        private final int vertexCount;
+        private int[] from;
+        private int[] to;
+        private int edgeCount;
+        private boolean reverse;
+        private boolean dedupe;
+
+        CSRGraphBuilder(int vertexCount) {
+            this(vertexCount, 16);
+        }
+
+        CSRGraphBuilder(int vertexCount, int expectedEdges) {
+            if (vertexCount < 0) {
+                throw new IllegalArgumentException("vertexCount must not be negative");
+            }
+            this.vertexCount = vertexCount;
+            this.from = new int[Math.max(1, expectedEdges)];
+            this.to = new int[Math.max(1, expectedEdges)];
+        }
+
+        /**
+         * Also build the in-edge (CSC) index.
+         */
+        CSRGraphBuilder withReverse(boolean reverse) {
+            this.reverse = reverse;
+            return this;
+        }
+
+        /**
+         * Drop parallel edges so each (u, v) appears at most once.
+         */
+        CSRGraphBuilder dedupe(boolean dedupe) {
+            this.dedupe = dedupe;
+            return this;
+        }
+
+        /**
+         * Add edge u -> v. Amortized O(1).
+         */
+        CSRGraphBuilder addEdge(int u, int v) {
+            if (u < 0 || u >= vertexCount || v < 0 || v >= vertexCount) {
+                throw new IllegalArgumentException("edge " + u + " -> " + v + " out of range");
+            }
+            if (edgeCount == from.length) {
+                from = Arrays.copyOf(from, from.length * 2);
+                to = Arrays.copyOf(to, to.length * 2);
+            }
+            from[edgeCount] = u;
+            to[edgeCount] = v;
+            edgeCount++;
+            return this;
+        }
+
+        /**
+         * Build the graph. O(n + m) plus O(m log d) parallel neighbour sorting.
+         */
+        CSRGraph build() {
+            int[] offsets = new int[vertexCount + 1];
+            int[] targets = scatter(from, to, offsets, edgeCount);
+            IntStream.range(0, vertexCount).parallel()
+                    .forEach(u -> Arrays.sort(targets, offsets[u], offsets[u + 1]));
+
+            int[] finalTargets = targets;
+            if (dedupe) {
+                finalTargets = compact(offsets, targets);
+            }
+
+            int[] inOffsets = null;
+            int[] sources = null;
+            if (reverse) {
+                // Scanning sources in increasing order leaves each in-list sorted
+                int m = offsets[vertexCount];
+                int[] edgeSources = new int[m];
+                for (int u = 0; u < vertexCount; u++) {
+                    Arrays.fill(edgeSources, offsets[u], offsets[u + 1], u);
+                }
+                inOffsets = new int[vertexCount + 1];
+                sources = scatter(finalTargets, edgeSources, inOffsets, m);
+            }
+            return new CSRGraph(vertexCount, offsets, finalTargets, inOffsets, sources);
+        }
+
+        // Counting sort of values by keys; fills offsets and returns values grouped by key
+        private int[] scatter(int[] keys, int[] values, int[] offsets, int m) {
+            for (int i = 0; i < m; i++) {
+                offsets[keys[i] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] cursor = Arrays.copyOf(offsets, vertexCount);
+            int[] grouped = new int[m];
+            for (int i = 0; i < m; i++) {
+                grouped[cursor[keys[i]]++] = values[i];
+            }
+            return grouped;
+        }
+
+        // Remove adjacent duplicates in each sorted list, rewriting offsets in place
+        private int[] compact(int[] offsets, int[] targets) {
+            int write = 0;
+            int start = 0;
+            for (int u = 0; u < vertexCount; u++) {
+                int end = offsets[u + 1];
+                offsets[u] = write;
+                for (int e = start; e < end; e++) {
+                    if (e == start || targets[e] != targets[e - 1]) {
+                        targets[write++] = targets[e];
+                    }
+                }
+                start = end;
+            }
+            offsets[vertexCount] = write;
+            return write == targets.length ? targets : Arrays.copyOf(targets, write);
+        }
+    }
+
+    private static volatile long blackholeSink;
+
+    public static void main(String[] args) {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        // Create graph with 5 vertices
+        CSRGraph graph = new CSRGraphBuilder(5)
+                .withReverse(true)
+                .dedupe(true)
+                .addEdge(0, 1).addEdge(0, 2).addEdge(1, 2)
+                .addEdge(2, 3).addEdge(3, 4).addEdge(4, 1)
+                .addEdge(0, 1)
+                .build();
+
+        System.out.println("Out-edges:");
+        graph.display();
+        System.out.println("\nEdges: " + graph.edgeCount() + " (duplicate 0 -> 1 dropped)");
+        System.out.println("Out-degree of 0: " + graph.outDegree(0));
+        System.out.println("In-degree of 2: " + graph.inDegree(2));
+        System.out.println("Has edge 2 -> 3: " + graph.hasEdge(2, 3));
+        System.out.println("Has edge 3 -> 2: " + graph.hasEdge(3, 2));
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Build and scan benchmark
+        int n = 2_000_000;
+        int m = 16_000_000;
+        Random random = new Random(42);
+        CSRGraphBuilder builder = new CSRGraphBuilder(n, m).withReverse(true);
+        for (int i = 0; i < m; i++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n));
+        }
+        long t0 = System.nanoTime();
+        CSRGraph big = builder.build();
+        double buildMs = (System.nanoTime() - t0) / 1e6;
+
+        long sum = 0;
+        t0 = System.nanoTime();
+        for (int u = 0; u < n; u++) {
+            for (int e = big.outStart(u); e < big.outEnd(u); e++) {
+                sum += big.target(e);
+            }
+        }
+        double scanMs = (System.nanoTime() - t0) / 1e6;
+        t0 = System.nanoTime();
+        for (int v = 0; v < n; v++) {
+            for (int e = big.inStart(v); e < big.inEnd(v); e++) {
+                sum -= big.source(e);
+            }
+        }
+        double inScanMs = (System.nanoTime() - t0) / 1e6;
+        blackholeSink += sum;
+
+        System.out.println("\n--- Benchmark (" + n + " vertices, " + m + " edges) ---");
+        System.out.printf("Build with reverse index: %.1f ms%n", buildMs);
+        System.out.printf("Out-edge scan: %.1f ms (%.1f M edges/s)%n", scanMs, m / scanMs / 1e3);
+        System.out.printf("In-edge scan:  %.1f ms (%.1f M edges/s)%n", inScanMs, m / inScanMs / 1e3);
+        System.out.printf("Adjacency bytes: %d (%.1f per edge)%n",
+                4L * (2 * (n + 1) + 2L * m), 4.0 * (2 * (n + 1) + 2.0 * m) / m);
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Build: O(n + m) plus parallel neighbour sort");
+        System.out.println("  - Out-degree/In-degree: O(1)");
+        System.out.println("  - Neighbour iteration: O(degree)");
+        System.out.println("  - Has edge: O(log degree)");
+        System.out.println("  - Space: O(n + m)");
+    }
+}
@@ -0,0 +1,408 @@
+package DoubleendedQueue;
+
+import Metrics.MemoryLayout;
+import Serialization.Serialization;
+import Serialization.Serialization.BlockReader;
+import Serialization.Serialization.BlockWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Demonstrates double-ended queue operations.
+ * IntDeque is a circular int array with power-of-two masking; WorkStealingDeque
+ * is a Chase-Lev deque where the owner pushes/pops at the bottom and thieves
+ * steal from the top. Runs a fork-join style task benchmark on the latter.
+ */
+public class DoubleendedQueue {
+
+    /**
+     * Deque of primitive ints backed by a circular array whose length is a power of two.
+     */
+    static class IntDeque {
+        private static final int DEFAULT_CAPACITY = 16;
+
+        private int[] items;
+        private int mask;
+        private int head;
+        private int size;
+
+        public IntDeque() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        public IntDeque(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            int length = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+            this.items = new int[length];
+            this.mask = length - 1;
+        }
+
+        /**
+         * Insert element at the front. Amortized O(1) operation.
+         */
+        public void addFirst(int value) {
+            if (size == items.length) {
+                grow();
+            }
+            head = (head - 1) & mask;
+            items[head] = value;
+            size++;
+        }
+
+        /**
+         * Insert element at the back. Amortized O(1) operation.
+         */
+        public void addLast(int value) {
+            if (size == items.length) {
+                grow();
+            }
+            items[(head + size) & mask] = value;
+            size++;
+        }
+
+        /**
+         * Remove and return front element. O(1) operation.
+         */
+        public int pollFirst() {
+            if (size == 0) {
+                throw new IllegalStateException("poll from empty deque");
+            }
+            int value = items[head];
+            head = (head + 1) & mask;
+            size--;
+            return value;
+        }
+
+        /**
+         * Remove and return back element. O(1) operation.
+         */
+        public int pollLast() {
+            if (size == 0) {
+                throw new IllegalStateException("poll from empty deque");
+            }
+            size--;
+            return items[(head + size) & mask];
+        }
+
+        /**
+         * Return front element without removing it. O(1) operation.
+         */
+        public int peekFirst() {
+            if (size == 0) {
+                throw new IllegalStateException("peek from empty deque");
+            }
+            return items[head];
+        }
+
+        /**
+         * Return back element without removing it. O(1) operation.
+         */
+        public int peekLast() {
+            if (size == 0) {
+                throw new IllegalStateException("peek from empty deque");
+            }
+            return items[(head + size - 1) & mask];
+        }
+
+        /**
+         * Check if deque is empty. O(1) operation.
+         */
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Return number of elements in deque. O(1) operation.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Bytes held by the deque and its backing array, including spare capacity. O(1) operation.
+         */
+        public long retainedSize() {
+            return MemoryLayout.object(MemoryLayout.REFERENCE + 12) + MemoryLayout.array(items.length, 4);
+        }
+
+        /**
+         * Write the elements front to back as one INT block, in at most two bulk copies. O(n) time.
+         */
+        public void writeTo(BlockWriter out) throws IOException {
+            out.beginStructure(Serialization.INT_DEQUE);
+            out.beginBlock(Serialization.INT_BLOCK, size);
+            int firstPart = Math.min(size, items.length - head);
+            out.putInts(items, head, firstPart);
+            out.putInts(items, 0, size - firstPart);
+        }
+
+        /**
+         * Load a deque written by writeTo straight into its backing array, front at index 0. O(n) time.
+         */
+        public static IntDeque readFrom(BlockReader in) throws IOException {
+            in.beginStructure(Serialization.INT_DEQUE);
+            int count = in.beginArrayBlock(Serialization.INT_BLOCK);
+            if (count > 1 << 30) {
+                throw new IOException("deque of " + count + " elements is too large");
+            }
+            IntDeque deque = new IntDeque(Math.max(count, DEFAULT_CAPACITY));
+            in.getInts(deque.items, 0, count);
+            deque.size = count;
+            return deque;
+        }
+
+        // Double the array and unwrap the elements to start at index 0
+        private void grow() {
+            int[] newItems = new int[items.length << 1];
+            int firstPart = items.length - head;
+            System.arraycopy(items, head, newItems, 0, firstPart);
+            System.arraycopy(items, 0, newItems, firstPart, head);
+            items = newItems;
+            mask = newItems.length - 1;
+            head = 0;
+        }
+    }
+
+    /**
+     * Chase-Lev work-stealing deque of long task ids.
+     * Only the owner thread may call push and pop; any thread may call steal.
+     * The buffer grows on push; old buffers stay valid for in-flight thieves.
+     */
+    static class WorkStealingDeque {
+        /** Returned by pop and steal when no task was obtained. */
+        static final long EMPTY = Long.MIN_VALUE;
+        private static final int MAX_LENGTH = 1 << 30;
+
+        private final AtomicLong top = new AtomicLong();
+        private volatile long bottom;
+        private final AtomicReference<AtomicLongArray> buffer;
+
+        public WorkStealingDeque(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            int length = Integer.highestOneBit(Math.max(2, Math.min(capacity, MAX_LENGTH) - 1)) << 1;
+            this.buffer = new AtomicReference<>(new AtomicLongArray(length));
+        }
+
+        /**
+         * Push a task at the bottom. Owner only, amortized O(1).
+         */
+        public void push(long task) {
+            long b = bottom;
+            long t = top.get();
+            AtomicLongArray a = buffer.get();
+            if (b - t >= a.length()) {
+                a = grow(a, b, t);
+            }
+            a.set((int) (b & (a.length() - 1)), task);
+            bottom = b + 1;
+        }
+
+        /**
+         * Pop the most recently pushed task, or EMPTY. Owner only, O(1).
+         */
+        public long pop() {
+            long b = bottom - 1;
+            AtomicLongArray a = buffer.get();
+            bottom = b;
+            long t = top.get();
+            if (t > b) {
+                bottom = b + 1;
+                return EMPTY;
+            }
+            long task = a.get((int) (b & (a.length() - 1)));
+            if (t == b) {
+                // Last element: race against thieves for it
+                if (!top.compareAndSet(t, t + 1)) {
+                    task = EMPTY;
+                }
+                bottom = b + 1;
+            }
+            return task;
+        }
+
+        /**
+         * Steal the oldest task, or EMPTY if none or the race was lost. Any thread, O(1).
+         */
+        public long steal() {
+            long t = top.get();
+            long b = bottom;
+            if (t >= b) {
+                return EMPTY;
+            }
+            AtomicLongArray a = buffer.get();
+            long task = a.get((int) (t & (a.length() - 1)));
+            if (!top.compareAndSet(t, t + 1)) {
+                return EMPTY;
+            }
+            return task;
+        }
+
+        /**
+         * Approximate number of queued tasks. O(1) operation.
+         */
+        public long size() {
+            return Math.max(0, bottom - top.get());
+        }
+
+        private AtomicLongArray grow(AtomicLongArray old, long b, long t) {
+            if (old.length() == MAX_LENGTH) {
+                throw new IllegalStateException("push to full deque");
+            }
+            AtomicLongArray bigger = new AtomicLongArray(old.length() << 1);
+            int oldMask = old.length() - 1;
+            int newMask = bigger.length() - 1;
+            for (long i = t; i < b; i++) {
+                bigger.set((int) (i & newMask), old.get((int) (i & oldMask)));
+            }
+            buffer.set(bigger);
+            return bigger;
+        }
+    }
+
+    /**
+     * Fork-join style benchmark: each worker owns a deque, a task of size n > 1
+     * splits into two halves pushed locally, idle workers steal from random victims.
+     * Returns the number of leaf tasks executed.
+     */
+    private static long runForkJoin(int workers, long rootSize) throws InterruptedException {
+        WorkStealingDeque[] deques = new WorkStealingDeque[workers];
+        for (int i = 0; i < workers; i++) {
+            deques[i] = new WorkStealingDeque(64);
+        }
+        AtomicLong leaves = new AtomicLong();
+        AtomicInteger pending = new AtomicInteger(1);
+        deques[0].push(rootSize);
+
+        Thread[] threads = new Thread[workers];
+        for (int w = 0; w < workers; w++) {
+            final int self = w;
+            threads[w] = new Thread(() -> {
+                WorkStealingDeque own = deques[self];
+                long localLeaves = 0;
+                int victim = self;
+                while (pending.get() > 0) {
+                    long task = own.pop();
+                    if (task == WorkStealingDeque.EMPTY) {
+                        victim = (victim + 1) % workers;
+                        task = deques[victim].steal();
+                        if (task == WorkStealingDeque.EMPTY) {
+                            Thread.onSpinWait();
+                            continue;
+                        }
+                    }
+                    if (task > 1) {
+                        pending.addAndGet(1);
+                        own.push(task / 2);
+                        own.push(task - task / 2);
+                    } else {
+                        localLeaves++;
+                        pending.decrementAndGet();
+                    }
+                }
+                leaves.addAndGet(localLeaves);
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        return leaves.get();
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        // Create deque instance
+        IntDeque myDeque = new IntDeque(4);
+
+        // Insert at both ends
+        myDeque.addLast(30);
+        myDeque.addLast(40);
+        myDeque.addFirst(20);
+        myDeque.addFirst(10);
+        myDeque.addLast(50);
+
+        System.out.println("Front: " + myDeque.peekFirst() + ", Back: " + myDeque.peekLast());
+        System.out.println("Poll first: " + myDeque.pollFirst());
+        System.out.println("Poll last: " + myDeque.pollLast());
+        System.out.println("Remaining elements from front:");
+        while (!myDeque.isEmpty()) {
+            System.out.println("Dequeued Element: " + myDeque.pollFirst());
+        }
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Work-stealing benchmark
+        long rootSize = 1L << 21;
+        System.out.println("\n--- Fork-join benchmark (" + rootSize + " leaf tasks) ---");
+        int maxWorkers = Math.max(2, runtime.availableProcessors());
+        for (int workers = 1; workers <= maxWorkers; workers *= 2) {
+            long start = System.nanoTime();
+            long leaves = runForkJoin(workers, rootSize);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("Workers %d: %d leaves, %.2f M tasks/s%n",
+                    workers, leaves, (2 * leaves - 1) / (elapsed / 1_000.0));
+        }
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+
+        // Retained size from the array capacity, checked against the heap
+        int count = 1_000_000;
+        IntDeque measured = new IntDeque();
+        long heapDelta = MemoryLayout.measure(() -> {
+            for (int i = 0; i < count; i++) {
+                measured.addLast(i);
+            }
+            return measured;
+        });
+        long retained = measured.retainedSize();
+        System.out.printf("Retained size at %d elements: %d bytes (%.1f bytes/element), heap delta %d bytes%n",
+                count, retained, (double) retained / count, heapDelta);
+
+        // Round trip through the binary format, with the contents wrapped around the array end
+        for (int i = 0; i < count / 2; i++) {
+            measured.addLast(measured.pollFirst());
+        }
+        Path file = Files.createTempFile("deque", ".bin");
+        try {
+            long t0 = System.nanoTime();
+            try (BlockWriter out = BlockWriter.create(file)) {
+                measured.writeTo(out);
+            }
+            long t1 = System.nanoTime();
+            IntDeque loaded;
+            try (BlockReader in = BlockReader.open(file)) {
+                loaded = IntDeque.readFrom(in);
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("Saved %d elements in %d bytes: write %.1f ms, read %.1f ms, front/back after reload %d/%d%n",
+                    count, Files.size(file), (t1 - t0) / 1e6, (t2 - t1) / 1e6, loaded.peekFirst(), loaded.peekLast());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - AddFirst/AddLast: O(1) amortized");
+        System.out.println("  - PollFirst/PollLast: O(1)");
+        System.out.println("  - Peek: O(1)");
+        System.out.println("  - Steal: O(1)");
+    }
+}
@@ -1,5 +1,13 @@
 package DoublyLinkedList;
 
+import Metrics.MemoryLayout;
+import Serialization.Serialization;
+import Serialization.Serialization.BlockReader;
+import Serialization.Serialization.BlockWriter;
+import Serialization.Serialization.Codec;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Demonstrates doubly linked list operations.
@@ -47,6 +55,46 @@ public class DoublyLinkedList {
             return size;
         }
 
+        /**
+         * Bytes held by the list and its nodes, not counting the elements. O(1) operation.
+         */
+        long retainedSize() {
+            return MemoryLayout.object(2L * MemoryLayout.REFERENCE + 4)
+                    + size * MemoryLayout.object(3L * MemoryLayout.REFERENCE);
+        }
+
+        /**
+         * Write the elements head to tail as one OBJECT block. O(n) time.
+         */
+        void writeTo(BlockWriter out, Codec<? super T> codec) throws IOException {
+            out.beginStructure(Serialization.DOUBLY_LINKED_LIST);
+            out.beginBlock(Serialization.OBJECT_BLOCK, size);
+            for (Node<T> current = head; current != null; current = current.next) {
+                codec.write(out, current.data);
+            }
+        }
+
+        /**
+         * Rebuild a list written by writeTo, appending at the tail. O(n) time.
+         */
+        static <T> DoublyLinkedListImpl<T> readFrom(BlockReader in, Codec<T> codec) throws IOException {
+            in.beginStructure(Serialization.DOUBLY_LINKED_LIST);
+            int count = in.beginArrayBlock(Serialization.OBJECT_BLOCK);
+            DoublyLinkedListImpl<T> list = new DoublyLinkedListImpl<>();
+            for (int i = 0; i < count; i++) {
+                Node<T> node = new Node<>(codec.read(in));
+                if (list.tail == null) {
+                    list.head = node;
+                } else {
+                    node.prev = list.tail;
+                    list.tail.next = node;
+                }
+                list.tail = node;
+            }
+            list.size = count;
+            return list;
+        }
+
         /**
          * Insert element at the beginning of the list. O(1) operation.
          */
@@ -232,7 +280,7 @@ public class DoublyLinkedList {
         }
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         long startTime = System.nanoTime();
         long memoryBefore = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
 
@@ -280,6 +328,38 @@ public class DoublyLinkedList {
         long memoryAfter = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
         long memoryUsed = memoryAfter - memoryBefore;
 
+        // Retained size from the node layout, checked against the heap
+        int count = 1_000_000;
+        DoublyLinkedListImpl<Integer> measured = new DoublyLinkedListImpl<>();
+        long heapDelta = MemoryLayout.measure(() -> {
+            for (int i = 0; i < count; i++) {
+                measured.insertAtEnd(i & 127);
+            }
+            return measured;
+        });
+        long retained = measured.retainedSize();
+        System.out.printf("Retained size at %d elements: %d bytes (%.1f bytes/element), heap delta %d bytes%n",
+                count, retained, (double) retained / count, heapDelta);
+
+        // Round trip through the binary format
+        Path file = Files.createTempFile("doublylinkedlist", ".bin");
+        try {
+            long t0 = System.nanoTime();
+            try (BlockWriter out = BlockWriter.create(file)) {
+                measured.writeTo(out, Serialization.INTEGERS);
+            }
+            long t1 = System.nanoTime();
+            DoublyLinkedListImpl<Integer> loaded;
+            try (BlockReader in = BlockReader.open(file)) {
+                loaded = DoublyLinkedListImpl.readFrom(in, Serialization.INTEGERS);
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("Saved %d elements in %d bytes: write %.1f ms, read %.1f ms, size after reload %d%n",
+                    count, Files.size(file), (t1 - t0) / 1e6, (t2 - t1) / 1e6, loaded.getSize());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
         // Performance statistics
         System.out.println("\n--- Performance Statistics ---");
         System.out.println("Execution time: " + ((endTime - startTime) / 1_000_000.0) + " ms");
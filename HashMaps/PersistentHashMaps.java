@@ -0,0 +1,715 @@
+package HashMaps;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Demonstrates a persistent hash array mapped trie (HAMT) with structural sharing.
+ * Every update copies only the O(log32 n) nodes on the path to the changed entry,
+ * so old versions stay valid and readers never lock. A transient view mutates nodes
+ * it owns in place for bulk builds, and PublishedMap swaps versions through an
+ * AtomicReference. Benchmarks reads against ConcurrentHashMap and updates against
+ * copying a whole HashMap.
+ */
+public class PersistentHashMaps {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int HASH_BITS = 32;
+    private static final Object NOT_FOUND = new Object();
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /** What an update did, filled in on the way down. */
+    private static final class Change {
+        boolean modified;
+        int sizeDelta;
+    }
+
+    private abstract static class Node {
+        abstract Object get(Object key, int hash, int shift);
+
+        abstract Node put(Object edit, Object key, int hash, Object value, int shift, Change change);
+
+        abstract Node remove(Object edit, Object key, int hash, int shift, Change change);
+
+        abstract int dataArity();
+
+        abstract int nodeArity();
+
+        abstract Object keyAt(int i);
+
+        abstract Object valueAt(int i);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * Node in the CHAMP layout: dataMap marks slots holding an inline key/value pair,
+     * nodeMap marks slots holding a child. Pairs sit at the front of array in slot order,
+     * children at the back in reverse slot order. edit is the owning transient, or null.
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, 0, new Object[0]);
+
+        Object edit;
+        int dataMap;
+        int nodeMap;
+        Object[] array;
+
+        BitmapNode(Object edit, int dataMap, int nodeMap, Object[] array) {
+            this.edit = edit;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.array = array;
+        }
+
+        @Override
+        Object get(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = 2 * Integer.bitCount(dataMap & (bit - 1));
+                return key.equals(array[i]) ? array[i + 1] : NOT_FOUND;
+            }
+            if ((nodeMap & bit) != 0) {
+                return child(bit).get(key, hash, shift + BITS);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node put(Object edit, Object key, int hash, Object value, int shift, Change change) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = 2 * Integer.bitCount(dataMap & (bit - 1));
+                Object existing = array[i];
+                if (key.equals(existing)) {
+                    if (array[i + 1] == value) {
+                        return this;
+                    }
+                    change.modified = true;
+                    BitmapNode node = editable(edit);
+                    node.array[i + 1] = value;
+                    return node;
+                }
+                // Two keys share this slot: push both one level down
+                Node child = merge(edit, existing, hash(existing), array[i + 1], key, hash, value, shift + BITS);
+                change.modified = true;
+                change.sizeDelta = 1;
+                return inlineToChild(edit, bit, i, child);
+            }
+            if ((nodeMap & bit) != 0) {
+                Node child = child(bit);
+                Node updated = child.put(edit, key, hash, value, shift + BITS, change);
+                return updated == child ? this : withChild(edit, bit, updated);
+            }
+            change.modified = true;
+            change.sizeDelta = 1;
+            int i = 2 * Integer.bitCount(dataMap & (bit - 1));
+            Object[] grown = new Object[array.length + 2];
+            System.arraycopy(array, 0, grown, 0, i);
+            grown[i] = key;
+            grown[i + 1] = value;
+            System.arraycopy(array, i, grown, i + 2, array.length - i);
+            return with(edit, dataMap | bit, nodeMap, grown);
+        }
+
+        @Override
+        Node remove(Object edit, Object key, int hash, int shift, Change change) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = 2 * Integer.bitCount(dataMap & (bit - 1));
+                if (!key.equals(array[i])) {
+                    return this;
+                }
+                change.modified = true;
+                change.sizeDelta = -1;
+                if (shift > 0 && dataArity() == 2 && nodeMap == 0) {
+                    // The survivor will be inlined by the parent, or become the root,
+                    // so lay it out for shift 0
+                    int j = i == 0 ? 2 : 0;
+                    return new BitmapNode(edit, bit(hash(array[j]), 0), 0, new Object[] {array[j], array[j + 1]});
+                }
+                Object[] shrunk = new Object[array.length - 2];
+                System.arraycopy(array, 0, shrunk, 0, i);
+                System.arraycopy(array, i + 2, shrunk, i, array.length - i - 2);
+                return with(edit, dataMap ^ bit, nodeMap, shrunk);
+            }
+            if ((nodeMap & bit) != 0) {
+                Node child = child(bit);
+                Node updated = child.remove(edit, key, hash, shift + BITS, change);
+                if (updated == child) {
+                    return this;
+                }
+                if (updated.nodeArity() == 0 && updated.dataArity() == 1) {
+                    if (dataMap == 0 && Integer.bitCount(nodeMap) == 1) {
+                        // This node would hold just the survivor: pass it up
+                        return updated;
+                    }
+                    return childToInline(edit, bit, updated.keyAt(0), updated.valueAt(0));
+                }
+                return withChild(edit, bit, updated);
+            }
+            return this;
+        }
+
+        @Override
+        int dataArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Object keyAt(int i) {
+            return array[2 * i];
+        }
+
+        @Override
+        Object valueAt(int i) {
+            return array[2 * i + 1];
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            int pairs = 2 * dataArity();
+            for (int i = 0; i < pairs; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+            for (int i = pairs; i < array.length; i++) {
+                ((Node) array[i]).forEach(action);
+            }
+        }
+
+        private Node child(int bit) {
+            return (Node) array[array.length - 1 - Integer.bitCount(nodeMap & (bit - 1))];
+        }
+
+        private int childIndex(int bit) {
+            return array.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        // This node if the transient owns it, otherwise a copy with the same layout
+        private BitmapNode editable(Object edit) {
+            if (edit != null && this.edit == edit) {
+                return this;
+            }
+            return new BitmapNode(edit, dataMap, nodeMap, array.clone());
+        }
+
+        private BitmapNode with(Object edit, int dataMap, int nodeMap, Object[] array) {
+            if (edit != null && this.edit == edit) {
+                this.dataMap = dataMap;
+                this.nodeMap = nodeMap;
+                this.array = array;
+                return this;
+            }
+            return new BitmapNode(edit, dataMap, nodeMap, array);
+        }
+
+        private BitmapNode withChild(Object edit, int bit, Node child) {
+            BitmapNode node = editable(edit);
+            node.array[childIndex(bit)] = child;
+            return node;
+        }
+
+        // Replace the pair at i with child; the pair block shrinks by 2, the child block grows by 1
+        private BitmapNode inlineToChild(Object edit, int bit, int i, Node child) {
+            int target = array.length - 2 - Integer.bitCount(nodeMap & (bit - 1));
+            Object[] result = new Object[array.length - 1];
+            System.arraycopy(array, 0, result, 0, i);
+            System.arraycopy(array, i + 2, result, i, target - i);
+            result[target] = child;
+            System.arraycopy(array, target + 2, result, target + 1, array.length - target - 2);
+            return with(edit, dataMap ^ bit, nodeMap | bit, result);
+        }
+
+        private BitmapNode childToInline(Object edit, int bit, Object key, Object value) {
+            int source = childIndex(bit);
+            int i = 2 * Integer.bitCount(dataMap & (bit - 1));
+            Object[] result = new Object[array.length + 1];
+            System.arraycopy(array, 0, result, 0, i);
+            result[i] = key;
+            result[i + 1] = value;
+            System.arraycopy(array, i, result, i + 2, source - i);
+            System.arraycopy(array, source + 1, result, source + 2, array.length - source - 1);
+            return with(edit, dataMap | bit, nodeMap ^ bit, result);
+        }
+
+        private static Node merge(Object edit, Object key1, int hash1, Object value1,
+                                  Object key2, int hash2, Object value2, int shift) {
+            if (shift >= HASH_BITS) {
+                return new CollisionNode(edit, hash1, new Object[] {key1, value1, key2, value2});
+            }
+            int bit1 = bit(hash1, shift);
+            int bit2 = bit(hash2, shift);
+            if (bit1 == bit2) {
+                Node child = merge(edit, key1, hash1, value1, key2, hash2, value2, shift + BITS);
+                return new BitmapNode(edit, 0, bit1, new Object[] {child});
+            }
+            Object[] pairs = Integer.compareUnsigned(bit1, bit2) < 0
+                    ? new Object[] {key1, value1, key2, value2}
+                    : new Object[] {key2, value2, key1, value1};
+            return new BitmapNode(edit, bit1 | bit2, 0, pairs);
+        }
+    }
+
+    /**
+     * Keys whose 32-bit hashes are all equal, kept as a flat pair array.
+     */
+    private static final class CollisionNode extends Node {
+        final Object edit;
+        final int hash;
+        final Object[] pairs;
+
+        CollisionNode(Object edit, int hash, Object[] pairs) {
+            this.edit = edit;
+            this.hash = hash;
+            this.pairs = pairs;
+        }
+
+        @Override
+        Object get(Object key, int hash, int shift) {
+            for (int i = 0; i < pairs.length; i += 2) {
+                if (key.equals(pairs[i])) {
+                    return pairs[i + 1];
+                }
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node put(Object edit, Object key, int hash, Object value, int shift, Change change) {
+            for (int i = 0; i < pairs.length; i += 2) {
+                if (key.equals(pairs[i])) {
+                    if (pairs[i + 1] == value) {
+                        return this;
+                    }
+                    change.modified = true;
+                    Object[] copy = pairs.clone();
+                    copy[i + 1] = value;
+                    return new CollisionNode(edit, hash, copy);
+                }
+            }
+            change.modified = true;
+            change.sizeDelta = 1;
+            Object[] grown = Arrays.copyOf(pairs, pairs.length + 2);
+            grown[pairs.length] = key;
+            grown[pairs.length + 1] = value;
+            return new CollisionNode(edit, hash, grown);
+        }
+
+        @Override
+        Node remove(Object edit, Object key, int hash, int shift, Change change) {
+            for (int i = 0; i < pairs.length; i += 2) {
+                if (key.equals(pairs[i])) {
+                    change.modified = true;
+                    change.sizeDelta = -1;
+                    if (pairs.length == 4) {
+                        int j = i == 0 ? 2 : 0;
+                        return new BitmapNode(edit, bit(this.hash, 0), 0, new Object[] {pairs[j], pairs[j + 1]});
+                    }
+                    Object[] shrunk = new Object[pairs.length - 2];
+                    System.arraycopy(pairs, 0, shrunk, 0, i);
+                    System.arraycopy(pairs, i + 2, shrunk, i, pairs.length - i - 2);
+                    return new CollisionNode(edit, this.hash, shrunk);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        int dataArity() {
+            return pairs.length / 2;
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        Object keyAt(int i) {
+            return pairs[2 * i];
+        }
+
+        @Override
+        Object valueAt(int i) {
+            return pairs[2 * i + 1];
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < pairs.length; i += 2) {
+                action.accept(pairs[i], pairs[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Immutable map. put and remove return a new version sharing all untouched
+     * nodes with this one. Safe to read from any number of threads.
+     */
+    public static final class PersistentHashMap<K, V> {
+        private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+        private final Node root;
+        private final int size;
+
+        private PersistentHashMap(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public static <K, V> PersistentHashMap<K, V> empty() {
+            return (PersistentHashMap<K, V>) EMPTY;
+        }
+
+        /**
+         * Return value for key, or null if absent. O(log32 n) operation.
+         */
+        public V get(Object key) {
+            return getOrDefault(key, null);
+        }
+
+        @SuppressWarnings("unchecked")
+        public V getOrDefault(Object key, V fallback) {
+            Object value = find(root, checkKey(key), hash(key));
+            return value == NOT_FOUND ? fallback : (V) value;
+        }
+
+        public boolean containsKey(Object key) {
+            return find(root, checkKey(key), hash(key)) != NOT_FOUND;
+        }
+
+        /**
+         * Return a version with key mapped to value, or this if nothing changes.
+         * Copies O(log32 n) nodes.
+         */
+        public PersistentHashMap<K, V> put(K key, V value) {
+            Change change = new Change();
+            Node updated = root.put(null, checkKey(key), hash(key), value, 0, change);
+            return change.modified ? new PersistentHashMap<>(updated, size + change.sizeDelta) : this;
+        }
+
+        /**
+         * Return a version without key, or this if absent. Copies O(log32 n) nodes.
+         */
+        public PersistentHashMap<K, V> remove(Object key) {
+            Change change = new Change();
+            Node updated = root.remove(null, checkKey(key), hash(key), 0, change);
+            return change.modified ? new PersistentHashMap<>(updated, size + change.sizeDelta) : this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Start a batch of updates on top of this version. O(1) operation.
+         */
+        public TransientHashMap<K, V> asTransient() {
+            return new TransientHashMap<>(root, size);
+        }
+
+        @SuppressWarnings("unchecked")
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    /**
+     * Single-threaded builder over a PersistentHashMap. Nodes it creates carry its
+     * edit token and are updated in place; shared nodes are copied once, on first touch.
+     * persistent() ends the batch: the token is dropped, so later versions copy again.
+     */
+    public static final class TransientHashMap<K, V> {
+        private Object edit = new Object();
+        private Node root;
+        private int size;
+
+        private TransientHashMap(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        /**
+         * Map key to value. O(log32 n), allocating only for nodes not yet owned.
+         */
+        public TransientHashMap<K, V> put(K key, V value) {
+            Change change = new Change();
+            root = root.put(checkEdit(), checkKey(key), hash(key), value, 0, change);
+            size += change.sizeDelta;
+            return this;
+        }
+
+        public TransientHashMap<K, V> remove(Object key) {
+            Change change = new Change();
+            root = root.remove(checkEdit(), checkKey(key), hash(key), 0, change);
+            size += change.sizeDelta;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            checkEdit();
+            Object value = root.get(checkKey(key), hash(key), 0);
+            return value == NOT_FOUND ? null : (V) value;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Freeze the batch into an immutable version. O(1) operation.
+         */
+        public PersistentHashMap<K, V> persistent() {
+            checkEdit();
+            edit = null;
+            return new PersistentHashMap<>(root, size);
+        }
+
+        private Object checkEdit() {
+            if (edit == null) {
+                throw new IllegalStateException("transient used after persistent()");
+            }
+            return edit;
+        }
+    }
+
+    /**
+     * The current version of a map, published through an AtomicReference.
+     * Readers take snapshot() and see one consistent version without locking;
+     * writers retry a compare-and-set, so concurrent updates are never lost.
+     */
+    public static final class PublishedMap<K, V> {
+        private final AtomicReference<PersistentHashMap<K, V>> current =
+                new AtomicReference<>(PersistentHashMap.empty());
+
+        public PersistentHashMap<K, V> snapshot() {
+            return current.get();
+        }
+
+        public V get(Object key) {
+            return current.get().get(key);
+        }
+
+        /**
+         * Apply update to the latest version and publish the result. update may run
+         * more than once under contention, so it must be free of side effects.
+         */
+        public PersistentHashMap<K, V> update(UnaryOperator<PersistentHashMap<K, V>> update) {
+            while (true) {
+                PersistentHashMap<K, V> before = current.get();
+                PersistentHashMap<K, V> after = update.apply(before);
+                if (after == before || current.compareAndSet(before, after)) {
+                    return after;
+                }
+            }
+        }
+
+        public void put(K key, V value) {
+            update(map -> map.put(key, value));
+        }
+
+        public void remove(Object key) {
+            update(map -> map.remove(key));
+        }
+    }
+
+    // Iterative descent for the read path; collision nodes only occur at the bottom
+    private static Object find(Node node, Object key, int hash) {
+        for (int shift = 0; node instanceof BitmapNode; shift += BITS) {
+            BitmapNode bitmap = (BitmapNode) node;
+            int bit = bit(hash, shift);
+            if ((bitmap.dataMap & bit) != 0) {
+                int i = 2 * Integer.bitCount(bitmap.dataMap & (bit - 1));
+                return key.equals(bitmap.array[i]) ? bitmap.array[i + 1] : NOT_FOUND;
+            }
+            if ((bitmap.nodeMap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            node = bitmap.child(bit);
+        }
+        return node.get(key, hash, HASH_BITS);
+    }
+
+    private static Object checkKey(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("key must not be null");
+        }
+        return key;
+    }
+
+    private static volatile long blackholeSink;
+
+    // Lookups of random keys from several threads; returns total lookups per second
+    private static double readThroughput(int threads, int keys, long lookupsPerThread,
+                                         IntPredicate lookup) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        LongAdder hits = new LongAdder();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final long seed = t + 1;
+            executor.execute(() -> {
+                long x = seed * 0x9E3779B97F4A7C15L;
+                long found = 0;
+                for (long i = 0; i < lookupsPerThread; i++) {
+                    x ^= x << 13;
+                    x ^= x >>> 7;
+                    x ^= x << 17;
+                    if (lookup.test((int) ((x >>> 1) % keys))) {
+                        found++;
+                    }
+                }
+                hits.add(found);
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        blackholeSink = hits.sum();
+        return threads * lookupsPerThread / (elapsed / 1e9);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        // Versions share structure and never change
+        PersistentHashMap<String, Integer> v1 = PersistentHashMap.<String, Integer>empty()
+                .put("apple", 1).put("banana", 2).put("cherry", 3);
+        PersistentHashMap<String, Integer> v2 = v1.put("banana", 20).remove("apple");
+        System.out.println("v1: apple=" + v1.get("apple") + ", banana=" + v1.get("banana") + ", size " + v1.size());
+        System.out.println("v2: apple=" + v2.get("apple") + ", banana=" + v2.get("banana") + ", size " + v2.size());
+
+        // "Aa" and "BB" have the same hashCode and end up in a collision node
+        PersistentHashMap<String, Integer> collide = v2.put("Aa", 1).put("BB", 2);
+        System.out.println("Colliding keys: Aa=" + collide.get("Aa") + ", BB=" + collide.get("BB")
+                + ", after removing Aa: BB=" + collide.remove("Aa").get("BB"));
+
+        // Batch build through a transient
+        TransientHashMap<String, Integer> batch = v2.asTransient();
+        for (int i = 0; i < 5; i++) {
+            batch.put("key" + i, i);
+        }
+        PersistentHashMap<String, Integer> v3 = batch.persistent();
+        System.out.println("v3 after batch of 5: size " + v3.size() + ", key4=" + v3.get("key4") + ", v2 size still " + v2.size());
+
+        // Published snapshot
+        PublishedMap<String, String> routes = new PublishedMap<>();
+        routes.put("/users", "users-service");
+        PersistentHashMap<String, String> seen = routes.snapshot();
+        routes.put("/orders", "orders-service");
+        System.out.println("Snapshot taken before update: " + seen.size() + " route(s), current: " + routes.snapshot().size());
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Build cost: persistent puts vs transient batch vs HashMap
+        int n = 1_000_000;
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = i;
+        }
+        System.out.println("\n--- Benchmark (" + n + " entries) ---");
+        PersistentHashMap<Integer, Integer> persistent = null;
+        long persistentBuild = 0;
+        long transientBuild = 0;
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+            for (int i = 0; i < n; i++) {
+                map = map.put(keys[i], keys[i]);
+            }
+            long t1 = System.nanoTime();
+            TransientHashMap<Integer, Integer> builder = PersistentHashMap.<Integer, Integer>empty().asTransient();
+            for (int i = 0; i < n; i++) {
+                builder.put(keys[i], keys[i]);
+            }
+            persistent = builder.persistent();
+            long t2 = System.nanoTime();
+            persistentBuild = t1 - t0;
+            transientBuild = t2 - t1;
+            blackholeSink = map.size();
+        }
+        System.out.printf("Build: persistent puts %.1f ms, transient batch %.1f ms%n",
+                persistentBuild / 1e6, transientBuild / 1e6);
+
+        // One update on a large map: path copy vs copying the whole map
+        Random random = new Random(42);
+        int updates = 100_000;
+        long t0 = System.nanoTime();
+        PersistentHashMap<Integer, Integer> updated = persistent;
+        for (int i = 0; i < updates; i++) {
+            updated = updated.put(keys[random.nextInt(n)], i);
+        }
+        long pathCopy = (System.nanoTime() - t0) / updates;
+        Map<Integer, Integer> hashMap = new HashMap<>();
+        persistent.forEach(hashMap::put);
+        int copies = 5;
+        t0 = System.nanoTime();
+        for (int i = 0; i < copies; i++) {
+            Map<Integer, Integer> copy = new HashMap<>(hashMap);
+            copy.put(keys[random.nextInt(n)], i);
+            blackholeSink = copy.size();
+        }
+        long fullCopy = (System.nanoTime() - t0) / copies;
+        System.out.printf("Update: path copy %d ns, full HashMap copy %.1f ms (%.0fx)%n",
+                pathCopy, fullCopy / 1e6, (double) fullCopy / pathCopy);
+
+        // Read throughput from concurrent readers
+        ConcurrentHashMap<Integer, Integer> concurrent = new ConcurrentHashMap<>(hashMap);
+        PublishedMap<Integer, Integer> published = new PublishedMap<>();
+        PersistentHashMap<Integer, Integer> snapshot = persistent;
+        published.update(map -> snapshot);
+        int threads = Math.max(2, runtime.availableProcessors());
+        long lookups = 5_000_000;
+        readThroughput(threads, n, lookups / 5, key -> published.snapshot().containsKey(keys[key]));
+        readThroughput(threads, n, lookups / 5, key -> concurrent.containsKey(keys[key]));
+        double hamtReads = readThroughput(threads, n, lookups, key -> published.snapshot().containsKey(keys[key]));
+        double chmReads = readThroughput(threads, n, lookups, key -> concurrent.containsKey(keys[key]));
+        System.out.printf("Reads (%d threads): HAMT snapshot %.1f M/s, ConcurrentHashMap %.1f M/s%n",
+                threads, hamtReads / 1e6, chmReads / 1e6);
+
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Get: O(log32 n)");
+        System.out.println("  - Put/Remove: O(log32 n), copying one node per level");
+        System.out.println("  - Transient put: O(log32 n), in place once a node is owned");
+        System.out.println("  - Snapshot: O(1)");
+        System.out.println("  - Space: O(n), shared between versions");
+    }
+}
@@ -0,0 +1,459 @@
+package MaxHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import MaxHeap.MaxHeap.IntMaxHeap;
+import Metrics.Metrics.LatencyHistogram;
+import MinHeap.MinHeap.IntMinHeap;
+
+/**
+ * Demonstrates streaming order statistics built on heaps:
+ * a running median over all samples (max-heap of the lower half, min-heap of the
+ * upper half), an exact sliding-window quantile whose heaps are indexed by ring
+ * slot so expired samples can be removed, and a fixed-size log-bucketed histogram
+ * for approximate quantiles when the window is too large to keep exactly.
+ * Benchmarks throughput and approximation error on synthetic latencies.
+ */
+public class StreamingQuantiles {
+
+    /**
+     * Median of every sample seen so far. The lower half is never smaller than the upper half.
+     */
+    static class RunningMedian {
+        private final IntMaxHeap lower = new IntMaxHeap();
+        private final IntMinHeap upper = new IntMinHeap();
+
+        /**
+         * Add a sample. O(log n) operation.
+         */
+        public void add(int value) {
+            if (lower.isEmpty() || value <= lower.peek()) {
+                lower.insert(value);
+            } else {
+                upper.insert(value);
+            }
+            if (lower.size() > upper.size() + 1) {
+                upper.insert(lower.poll());
+            } else if (upper.size() > lower.size()) {
+                lower.insert(upper.poll());
+            }
+        }
+
+        /**
+         * Return the median, averaging the two middle samples for even counts. O(1) operation.
+         */
+        public double median() {
+            if (lower.isEmpty()) {
+                throw new IllegalStateException("median of empty stream");
+            }
+            if (lower.size() == upper.size()) {
+                return ((double) lower.peek() + upper.peek()) / 2;
+            }
+            return lower.peek();
+        }
+
+        public int size() {
+            return lower.size() + upper.size();
+        }
+    }
+
+    /**
+     * Binary min-heap of ring slots keyed by int value, with a slot -> position index
+     * so any slot can be removed in O(log n). A max-heap stores ~value, which reverses
+     * int order without overflow.
+     */
+    static class IndexedHeap {
+        private final boolean max;
+        private final int[] slots;
+        private final int[] keys;
+        private final int[] position;
+        private int size;
+
+        IndexedHeap(int capacity, boolean max) {
+            this.max = max;
+            this.slots = new int[capacity];
+            this.keys = new int[capacity];
+            this.position = new int[capacity];
+            Arrays.fill(position, -1);
+        }
+
+        void insert(int slot, int value) {
+            siftUp(size++, slot, max ? ~value : value);
+        }
+
+        boolean contains(int slot) {
+            return position[slot] >= 0;
+        }
+
+        /**
+         * Remove slot wherever it is in the heap. O(log n) operation.
+         */
+        void remove(int slot) {
+            int i = position[slot];
+            position[slot] = -1;
+            size--;
+            if (i == size) {
+                return;
+            }
+            int lastSlot = slots[size];
+            int lastKey = keys[size];
+            if (i > 0 && lastKey < keys[(i - 1) >>> 1]) {
+                siftUp(i, lastSlot, lastKey);
+            } else {
+                siftDown(i, lastSlot, lastKey);
+            }
+        }
+
+        int peekSlot() {
+            return slots[0];
+        }
+
+        int peekValue() {
+            return max ? ~keys[0] : keys[0];
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void siftUp(int i, int slot, int key) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                place(i, slots[parent], keys[parent]);
+                i = parent;
+            }
+            place(i, slot, key);
+        }
+
+        private void siftDown(int i, int slot, int key) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                place(i, slots[child], keys[child]);
+                i = child;
+            }
+            place(i, slot, key);
+        }
+
+        private void place(int i, int slot, int key) {
+            slots[i] = slot;
+            keys[i] = key;
+            position[slot] = i;
+        }
+    }
+
+    /**
+     * Exact quantile over the last window samples. Samples sit in a ring buffer; the
+     * lower heap holds the ceil(q * count) smallest, so the answer is its maximum.
+     */
+    static class SlidingWindowQuantile {
+        private final double quantile;
+        private final int[] ring;
+        private final IndexedHeap lower;
+        private final IndexedHeap upper;
+        private int next;
+        private int count;
+
+        SlidingWindowQuantile(int window, double quantile) {
+            if (window <= 0) {
+                throw new IllegalArgumentException("window must be positive");
+            }
+            if (!(quantile > 0 && quantile <= 1)) {
+                throw new IllegalArgumentException("quantile must be in (0, 1]");
+            }
+            this.quantile = quantile;
+            this.ring = new int[window];
+            this.lower = new IndexedHeap(window, true);
+            this.upper = new IndexedHeap(window, false);
+        }
+
+        /**
+         * Add a sample, expiring the oldest once the window is full. O(log window) operation.
+         */
+        public void add(int value) {
+            int slot = next;
+            if (count == ring.length) {
+                if (lower.contains(slot)) {
+                    lower.remove(slot);
+                } else {
+                    upper.remove(slot);
+                }
+            } else {
+                count++;
+            }
+            ring[slot] = value;
+            next = slot + 1 == ring.length ? 0 : slot + 1;
+
+            if (lower.size() > 0 && value <= lower.peekValue()) {
+                lower.insert(slot, value);
+            } else {
+                upper.insert(slot, value);
+            }
+            int target = Math.max(1, (int) Math.ceil(quantile * count));
+            while (lower.size() > target) {
+                move(lower, upper);
+            }
+            while (lower.size() < target) {
+                move(upper, lower);
+            }
+        }
+
+        /**
+         * Return the nearest-rank quantile of the current window. O(1) operation.
+         */
+        public int value() {
+            if (count == 0) {
+                throw new IllegalStateException("quantile of empty window");
+            }
+            return lower.peekValue();
+        }
+
+        public int size() {
+            return count;
+        }
+
+        private void move(IndexedHeap from, IndexedHeap to) {
+            int slot = from.peekSlot();
+            from.remove(slot);
+            to.insert(slot, ring[slot]);
+        }
+    }
+
+    /**
+     * Histogram of non-negative longs with 2^precision linear sub-buckets per power of two,
+     * so any recorded value is off by at most a factor of 2^-precision. Memory is fixed
+     * (64 * 2^precision counters) no matter how many samples are recorded. Uses the
+     * bucket layout of Metrics.LatencyHistogram, without its atomics.
+     */
+    static class LogHistogram {
+        private final int precision;
+        private final long[] counts;
+        private long total;
+
+        LogHistogram(int precision) {
+            if (precision < 1 || precision > 16) {
+                throw new IllegalArgumentException("precision must be in [1, 16]");
+            }
+            this.precision = precision;
+            this.counts = new long[LatencyHistogram.bucketCount(precision)];
+        }
+
+        /**
+         * Record a sample. O(1) operation.
+         */
+        public void record(long value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("value must not be negative");
+            }
+            counts[LatencyHistogram.bucket(value, precision)]++;
+            total++;
+        }
+
+        /**
+         * Return an upper bound of the bucket holding the nearest-rank quantile q. O(buckets) time.
+         */
+        public long quantile(double q) {
+            if (total == 0) {
+                throw new IllegalStateException("quantile of empty histogram");
+            }
+            long rank = Math.max(1, (long) Math.ceil(q * total));
+            long seen = 0;
+            for (int b = 0; b < counts.length; b++) {
+                seen += counts[b];
+                if (seen >= rank) {
+                    return LatencyHistogram.highestValue(b, precision);
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * Add (sign 1) or subtract (sign -1) another histogram with the same precision. O(buckets) time.
+         */
+        public void merge(LogHistogram other, int sign) {
+            for (int b = 0; b < counts.length; b++) {
+                counts[b] += sign * other.counts[b];
+            }
+            total += sign * other.total;
+        }
+
+        public long count() {
+            return total;
+        }
+
+        public void clear() {
+            Arrays.fill(counts, 0);
+            total = 0;
+        }
+    }
+
+    /**
+     * Approximate quantile over roughly the last window samples in bounded memory.
+     * The window is split into slices, each with its own LogHistogram; a running sum
+     * histogram drops a whole slice when it expires, so the window advances in steps
+     * of window / slices samples.
+     */
+    static class WindowedQuantile {
+        private final LogHistogram[] slices;
+        private final LogHistogram sum;
+        private final int sliceSize;
+        private int current;
+
+        WindowedQuantile(int window, int slices, int precision) {
+            if (slices <= 0 || window < slices) {
+                throw new IllegalArgumentException("need 0 < slices <= window");
+            }
+            this.slices = new LogHistogram[slices];
+            for (int i = 0; i < slices; i++) {
+                this.slices[i] = new LogHistogram(precision);
+            }
+            this.sum = new LogHistogram(precision);
+            this.sliceSize = window / slices;
+        }
+
+        /**
+         * Record a sample. O(1), plus O(buckets) when a slice rotates.
+         */
+        public void record(long value) {
+            if (slices[current].count() == sliceSize) {
+                current = current + 1 == slices.length ? 0 : current + 1;
+                sum.merge(slices[current], -1);
+                slices[current].clear();
+            }
+            slices[current].record(value);
+            sum.record(value);
+        }
+
+        /**
+         * Return the approximate quantile q of the samples in the window. O(buckets) time.
+         */
+        public long quantile(double q) {
+            return sum.quantile(q);
+        }
+
+        public long count() {
+            return sum.count();
+        }
+
+        /**
+         * Return the number of long counters held, which bounds memory.
+         */
+        public int counters() {
+            return (slices.length + 1) * sum.counts.length;
+        }
+    }
+
+    private static volatile long blackholeSink;
+
+    // Log-normal-ish latency in microseconds with a heavy tail
+    private static int latency(Random random) {
+        double v = Math.exp(5 + 0.6 * random.nextGaussian());
+        if (random.nextInt(1000) == 0) {
+            v *= 50;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, v);
+    }
+
+    public static void main(String[] args) {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        RunningMedian median = new RunningMedian();
+        SlidingWindowQuantile windowMedian = new SlidingWindowQuantile(4, 0.5);
+        int[] samples = {5, 15, 1, 3, 8, 7, 9, 10};
+        for (int s : samples) {
+            median.add(s);
+            windowMedian.add(s);
+            System.out.println("Added " + s + ": running median " + median.median()
+                    + ", median of last 4 " + windowMedian.value());
+        }
+
+        LogHistogram histogram = new LogHistogram(7);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        System.out.println("\nHistogram p50 " + histogram.quantile(0.5) + ", p99 " + histogram.quantile(0.99)
+                + " (exact 500000, 990000)");
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Streaming benchmark
+        int n = 5_000_000;
+        int window = 100_000;
+        Random random = new Random(42);
+        int[] stream = new int[n];
+        for (int i = 0; i < n; i++) {
+            stream[i] = latency(random);
+        }
+        System.out.println("\n--- Benchmark (" + n + " samples, window " + window + ") ---");
+
+        for (int round = 0; round < 2; round++) {
+            long sink = 0;
+            long t0 = System.nanoTime();
+            RunningMedian running = new RunningMedian();
+            for (int v : stream) {
+                running.add(v);
+                sink += (long) running.median();
+            }
+            double runningMs = (System.nanoTime() - t0) / 1e6;
+
+            t0 = System.nanoTime();
+            SlidingWindowQuantile exact = new SlidingWindowQuantile(window, 0.99);
+            for (int v : stream) {
+                exact.add(v);
+                sink += exact.value();
+            }
+            double exactMs = (System.nanoTime() - t0) / 1e6;
+
+            t0 = System.nanoTime();
+            WindowedQuantile approx = new WindowedQuantile(window, 10, 7);
+            for (int i = 0; i < n; i++) {
+                approx.record(stream[i]);
+                if ((i & 1023) == 0) {
+                    sink += approx.quantile(0.99);
+                }
+            }
+            double approxMs = (System.nanoTime() - t0) / 1e6;
+            blackholeSink += sink;
+
+            if (round == 1) {
+                int[] last = Arrays.copyOfRange(stream, n - window, n);
+                Arrays.sort(last);
+                int truth = last[(int) Math.ceil(0.99 * window) - 1];
+                long estimate = approx.quantile(0.99);
+                System.out.printf("Running median:          %.1f M samples/s%n", n / runningMs / 1e3);
+                System.out.printf("Exact sliding p99:       %.1f M samples/s (p99 %d, truth %d)%n",
+                        n / exactMs / 1e3, exact.value(), truth);
+                System.out.printf("Approximate sliding p99: %.1f M samples/s (p99 %d, %.2f%% off, %d-sample window, %d counters)%n",
+                        n / approxMs / 1e3, estimate, 100.0 * Math.abs(estimate - truth) / truth,
+                        approx.count(), approx.counters());
+            }
+        }
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Running median add: O(log n), median: O(1)");
+        System.out.println("  - Sliding quantile add: O(log window), value: O(1)");
+        System.out.println("  - Histogram record: O(1), quantile: O(buckets)");
+        System.out.println("  - Space: O(n), O(window), O(slices * buckets)");
+    }
+}
@@ -0,0 +1,475 @@
+package Metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Demonstrates a pluggable metrics surface shared by the data structures.
+ * A structure holds a MetricsListener (Metrics.NOOP by default) and reports
+ * operations with their latency, resizes, hash probe lengths and skip list levels.
+ * StructureMetrics records them lock-free and is exposed as a JMX MBean.
+ * Reporting structures: SkipList, PriorityQueues and UndirectedGraphs.DynamicGraph.
+ * Benchmarks concurrent recording.
+ */
+public class Metrics {
+
+    public static final int INSERT = 0;
+    public static final int SEARCH = 1;
+    public static final int DELETE = 2;
+    public static final int PEEK = 3;
+    public static final int POLL = 4;
+    public static final int RANGE = 5;
+    static final String[] OPERATION_NAMES = {"insert", "search", "delete", "peek", "poll", "range"};
+
+    /**
+     * Callbacks a structure makes while it runs. Call sites read the listener once
+     * and only call System.nanoTime() when enabled() is true:
+     *
+     *   MetricsListener m = metrics;
+     *   long start = m.enabled() ? System.nanoTime() : 0L;
+     *   ...
+     *   if (m.enabled()) m.operation(Metrics.INSERT, System.nanoTime() - start);
+     *
+     * While NOOP is the only listener a call site has seen, the JIT inlines
+     * enabled() as the constant false and removes the timing and the callbacks.
+     */
+    public interface MetricsListener {
+        boolean enabled();
+
+        void operation(int op, long nanos);
+
+        void resize(long oldCapacity, long newCapacity);
+
+        void probe(int length);
+
+        /** A node with the given level was added (delta 1) or removed (delta -1). */
+        void level(int level, int delta);
+    }
+
+    /** Listener that records nothing. */
+    public static final MetricsListener NOOP = new NoopListener();
+
+    private static final class NoopListener implements MetricsListener {
+        @Override
+        public boolean enabled() {
+            return false;
+        }
+
+        @Override
+        public void operation(int op, long nanos) {
+        }
+
+        @Override
+        public void resize(long oldCapacity, long newCapacity) {
+        }
+
+        @Override
+        public void probe(int length) {
+        }
+
+        @Override
+        public void level(int level, int delta) {
+        }
+    }
+
+    /**
+     * Log-linear histogram of non-negative longs in the HdrHistogram layout:
+     * values below 2^precision have their own bucket, larger ones keep their top
+     * precision + 1 bits, so the relative error is at most 2^-precision.
+     * record() is a single atomic increment and never blocks; readers see a
+     * snapshot that may miss samples recorded concurrently.
+     */
+    public static class LatencyHistogram {
+        private final int precision;
+        private final AtomicLongArray counts;
+        private final AtomicLong max = new AtomicLong();
+
+        public LatencyHistogram(int precision) {
+            if (precision < 1 || precision > 16) {
+                throw new IllegalArgumentException("precision must be in [1, 16]");
+            }
+            this.precision = precision;
+            this.counts = new AtomicLongArray(bucketCount(precision));
+        }
+
+        /**
+         * Record a sample. O(1) operation, lock-free.
+         */
+        public void record(long value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("value must not be negative");
+            }
+            counts.getAndIncrement(bucket(value, precision));
+            long seen = max.get();
+            while (value > seen && !max.compareAndSet(seen, value)) {
+                seen = max.get();
+            }
+        }
+
+        /**
+         * Return an upper bound of the bucket holding the nearest-rank quantile q,
+         * or 0 if nothing was recorded. O(buckets) time.
+         */
+        public long quantile(double q) {
+            long total = count();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(q * total));
+            long seen = 0;
+            for (int b = 0; b < counts.length(); b++) {
+                seen += counts.get(b);
+                if (seen >= rank) {
+                    return Math.min(highestValue(b, precision), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        /**
+         * Number of recorded samples. O(buckets) time.
+         */
+        public long count() {
+            long total = 0;
+            for (int b = 0; b < counts.length(); b++) {
+                total += counts.get(b);
+            }
+            return total;
+        }
+
+        public long max() {
+            return max.get();
+        }
+
+        public void reset() {
+            for (int b = 0; b < counts.length(); b++) {
+                counts.set(b, 0);
+            }
+            max.set(0);
+        }
+
+        /**
+         * Bucket index of value at the given precision. Shared with other log-bucketed
+         * histograms so they agree on the layout. O(1) operation.
+         */
+        public static int bucket(long value, int precision) {
+            int magnitude = 63 - Long.numberOfLeadingZeros(value | 1);
+            if (magnitude < precision) {
+                return (int) value;
+            }
+            int shift = magnitude - precision;
+            return ((shift + 1) << precision) + (int) ((value >>> shift) - (1L << precision));
+        }
+
+        /**
+         * Largest value that falls into bucket b at the given precision. O(1) operation.
+         */
+        public static long highestValue(int b, int precision) {
+            int group = b >>> precision;
+            if (group == 0) {
+                return b;
+            }
+            int shift = group - 1;
+            long low = ((long) (b & ((1 << precision) - 1)) + (1L << precision)) << shift;
+            return low + (1L << shift) - 1;
+        }
+
+        /**
+         * Number of buckets needed at the given precision. O(1) operation.
+         */
+        public static int bucketCount(int precision) {
+            return (64 - precision + 1) << precision;
+        }
+    }
+
+    /** JMX view of a StructureMetrics. Latencies are in nanoseconds. */
+    public interface StructureMetricsMBean {
+        String[] getOperationNames();
+
+        long[] getOperationCounts();
+
+        long[] getP50Latencies();
+
+        long[] getP99Latencies();
+
+        long[] getMaxLatencies();
+
+        long getResizes();
+
+        long getLastCapacity();
+
+        double getMeanProbeLength();
+
+        long[] getProbeLengthDistribution();
+
+        long[] getLevelDistribution();
+
+        void reset();
+    }
+
+    /**
+     * Listener that keeps operation counters, one latency histogram per operation,
+     * resize counts, a probe length distribution and a live level distribution.
+     * Every update is a LongAdder increment or an atomic array increment, so any
+     * number of threads may record at once.
+     */
+    public static class StructureMetrics implements MetricsListener, StructureMetricsMBean {
+        private static final int MAX_PROBE = 64;
+        private static final int MAX_LEVEL = 32;
+
+        private final LongAdder[] operations = new LongAdder[OPERATION_NAMES.length];
+        private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATION_NAMES.length];
+        private final LongAdder resizes = new LongAdder();
+        private final AtomicLong lastCapacity = new AtomicLong();
+        private final AtomicLongArray probeLengths = new AtomicLongArray(MAX_PROBE + 1);
+        private final LongAdder probeTotal = new LongAdder();
+        private final AtomicLongArray levels = new AtomicLongArray(MAX_LEVEL + 1);
+
+        public StructureMetrics() {
+            for (int op = 0; op < OPERATION_NAMES.length; op++) {
+                operations[op] = new LongAdder();
+                latencies[op] = new LatencyHistogram(6);
+            }
+        }
+
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public void operation(int op, long nanos) {
+            operations[op].increment();
+            latencies[op].record(Math.max(0, nanos));
+        }
+
+        @Override
+        public void resize(long oldCapacity, long newCapacity) {
+            resizes.increment();
+            lastCapacity.set(newCapacity);
+        }
+
+        /** Lengths above 64 share the last bucket but count fully in the mean. */
+        @Override
+        public void probe(int length) {
+            probeLengths.getAndIncrement(Math.min(length, MAX_PROBE));
+            probeTotal.add(length);
+        }
+
+        @Override
+        public void level(int level, int delta) {
+            levels.getAndAdd(Math.min(level, MAX_LEVEL), delta);
+        }
+
+        public long operations(int op) {
+            return operations[op].sum();
+        }
+
+        public LatencyHistogram latency(int op) {
+            return latencies[op];
+        }
+
+        @Override
+        public String[] getOperationNames() {
+            return OPERATION_NAMES.clone();
+        }
+
+        @Override
+        public long[] getOperationCounts() {
+            long[] result = new long[OPERATION_NAMES.length];
+            for (int op = 0; op < result.length; op++) {
+                result[op] = operations[op].sum();
+            }
+            return result;
+        }
+
+        @Override
+        public long[] getP50Latencies() {
+            return quantiles(0.5);
+        }
+
+        @Override
+        public long[] getP99Latencies() {
+            return quantiles(0.99);
+        }
+
+        @Override
+        public long[] getMaxLatencies() {
+            long[] result = new long[OPERATION_NAMES.length];
+            for (int op = 0; op < result.length; op++) {
+                result[op] = latencies[op].max();
+            }
+            return result;
+        }
+
+        @Override
+        public long getResizes() {
+            return resizes.sum();
+        }
+
+        @Override
+        public long getLastCapacity() {
+            return lastCapacity.get();
+        }
+
+        @Override
+        public double getMeanProbeLength() {
+            long probes = 0;
+            for (int i = 0; i <= MAX_PROBE; i++) {
+                probes += probeLengths.get(i);
+            }
+            return probes == 0 ? 0.0 : (double) probeTotal.sum() / probes;
+        }
+
+        @Override
+        public long[] getProbeLengthDistribution() {
+            return trimmed(probeLengths);
+        }
+
+        @Override
+        public long[] getLevelDistribution() {
+            return trimmed(levels);
+        }
+
+        /** Clears everything except the level distribution, which describes live nodes. */
+        @Override
+        public void reset() {
+            for (int op = 0; op < OPERATION_NAMES.length; op++) {
+                operations[op].reset();
+                latencies[op].reset();
+            }
+            resizes.reset();
+            probeTotal.reset();
+            for (int i = 0; i <= MAX_PROBE; i++) {
+                probeLengths.set(i, 0);
+            }
+        }
+
+        /**
+         * Register this object with the platform MBean server under
+         * DataStructures:type=Metrics,name=&lt;name&gt;.
+         */
+        public ObjectName register(String name) {
+            try {
+                ObjectName objectName = new ObjectName("DataStructures:type=Metrics,name=" + ObjectName.quote(name));
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+                server.registerMBean(new StandardMBean(this, StructureMetricsMBean.class), objectName);
+                return objectName;
+            } catch (Exception e) {
+                throw new IllegalStateException("cannot register metrics " + name, e);
+            }
+        }
+
+        private long[] quantiles(double q) {
+            long[] result = new long[OPERATION_NAMES.length];
+            for (int op = 0; op < result.length; op++) {
+                result[op] = latencies[op].quantile(q);
+            }
+            return result;
+        }
+
+        // Copy without trailing zero buckets
+        private static long[] trimmed(AtomicLongArray counts) {
+            int length = counts.length();
+            while (length > 0 && counts.get(length - 1) == 0) {
+                length--;
+            }
+            long[] result = new long[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = counts.get(i);
+            }
+            return result;
+        }
+    }
+
+    private static volatile long blackholeSink;
+
+    public static void main(String[] args) throws Exception {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        // Histogram accuracy on known values
+        LatencyHistogram histogram = new LatencyHistogram(6);
+        for (long v = 1; v <= 100_000; v++) {
+            histogram.record(v);
+        }
+        System.out.println("Histogram of 1..100000 (precision 6):");
+        System.out.println("  count = " + histogram.count() + ", max = " + histogram.max());
+        System.out.println("  p50 = " + histogram.quantile(0.5) + " (exact 50000)");
+        System.out.println("  p99 = " + histogram.quantile(0.99) + " (exact 99000)");
+
+        // Feed a listener by hand and read it back over JMX
+        StructureMetrics metrics = new StructureMetrics();
+        for (int i = 0; i < 1000; i++) {
+            metrics.operation(INSERT, 100 + i % 50);
+            metrics.probe(1 + i % 3);
+        }
+        metrics.operation(SEARCH, 80);
+        metrics.resize(16, 32);
+        metrics.level(0, 1);
+        metrics.level(0, 1);
+        metrics.level(2, 1);
+        ObjectName name = metrics.register("demo");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        System.out.println("\nJMX " + name + ":");
+        System.out.println("  OperationCounts = " + Arrays.toString((long[]) server.getAttribute(name, "OperationCounts")));
+        System.out.println("  P99Latencies = " + Arrays.toString((long[]) server.getAttribute(name, "P99Latencies")));
+        System.out.println("  Resizes = " + server.getAttribute(name, "Resizes"));
+        System.out.println("  MeanProbeLength = " + server.getAttribute(name, "MeanProbeLength"));
+        System.out.println("  LevelDistribution = " + Arrays.toString((long[]) server.getAttribute(name, "LevelDistribution")));
+        server.unregisterMBean(name);
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Concurrent recording: every sample must be counted exactly once
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        int perThread = 2_000_000;
+        LatencyHistogram shared = new LatencyHistogram(6);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long recordStart = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final int seed = t;
+            executor.execute(() -> {
+                long x = seed * 0x9E3779B97F4A7C15L + 1;
+                for (int i = 0; i < perThread; i++) {
+                    x ^= x << 13;
+                    x ^= x >>> 7;
+                    x ^= x << 17;
+                    shared.record((x >>> 1) % 1_000_000);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        long recordTime = System.nanoTime() - recordStart;
+        blackholeSink = shared.quantile(0.5);
+
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.printf("Concurrent record (%d threads x %d): %.1f ns/sample, counted %d of %d%n",
+                threads, perThread, (double) recordTime / ((long) threads * perThread),
+                shared.count(), (long) threads * perThread);
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Record: O(1), lock-free");
+        System.out.println("  - Quantile: O(buckets)");
+        System.out.println("  - Counter read: O(cells)");
+        System.out.println("  - Space: O(buckets) per operation type");
+    }
+}
@@ -0,0 +1,133 @@
+package MinHeap;
+
+import java.util.Arrays;
+
+/**
+ * Demonstrates a binary min-heap of primitive ints: insert, peek and poll.
+ * Inserts values and polls them in ascending order.
+ */
+public class MinHeap {
+
+    /**
+     * Array-backed binary min-heap. The smallest value is at index 0.
+     */
+    public static class IntMinHeap {
+        private static final int INITIAL_CAPACITY = 16;
+        private int[] heap;
+        private int size;
+
+        public IntMinHeap() {
+            this(INITIAL_CAPACITY);
+        }
+
+        public IntMinHeap(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            heap = new int[capacity];
+        }
+
+        /**
+         * Add value. O(log n) operation.
+         */
+        public void insert(int value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, heap.length * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        /**
+         * Remove and return the smallest value. O(log n) operation.
+         */
+        public int poll() {
+            if (size == 0) {
+                throw new IllegalStateException("poll from empty heap");
+            }
+            int min = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return min;
+        }
+
+        /**
+         * Return the smallest value. O(1) operation.
+         */
+        public int peek() {
+            if (size == 0) {
+                throw new IllegalStateException("peek from empty heap");
+            }
+            return heap[0];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public void clear() {
+            size = 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        IntMinHeap heap = new IntMinHeap();
+        int[] values = {3, 1, 4, 1, 5, 9, 2, 6};
+
+        for (int val : values) {
+            heap.insert(val);
+        }
+        System.out.println("Peek: " + heap.peek());
+
+        StringBuilder sb = new StringBuilder("Polled:");
+        while (!heap.isEmpty()) {
+            sb.append(' ').append(heap.poll());
+        }
+        System.out.println(sb);
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Insert: O(log n)");
+        System.out.println("  - Poll: O(log n)");
+        System.out.println("  - Peek: O(1)");
+    }
+}
@@ -0,0 +1,634 @@
+package MinHeap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import MaxHeap.MaxHeap.IntMaxHeap;
+import MinHeap.MinHeap.IntMinHeap;
+
+/**
+ * Demonstrates a min-max heap (Atkinson et al.): one array-backed complete binary
+ * tree whose even levels are min-ordered and odd levels max-ordered. The root is the
+ * minimum and the larger of its two children is the maximum, so both ends are
+ * visible in O(1) and removable in O(log n) without a second heap to keep in sync.
+ * Benchmarks it against a min-heap plus max-heap pair with lazy deletion.
+ */
+public class MinMaxHeap {
+
+    /**
+     * Min-max heap of primitive ints.
+     */
+    public static class IntMinMaxHeap {
+        private static final int INITIAL_CAPACITY = 16;
+        private int[] heap;
+        private int size;
+
+        public IntMinMaxHeap() {
+            this(INITIAL_CAPACITY);
+        }
+
+        public IntMinMaxHeap(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            heap = new int[capacity];
+        }
+
+        /**
+         * Add value. O(log n) operation.
+         */
+        public void insert(int value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, heap.length * 2);
+            }
+            int i = size++;
+            heap[i] = value;
+            if (i == 0) {
+                return;
+            }
+            int parent = (i - 1) >>> 1;
+            if (isMinLevel(i)) {
+                if (value > heap[parent]) {
+                    heap[i] = heap[parent];
+                    bubbleUpMax(parent, value);
+                } else {
+                    bubbleUpMin(i, value);
+                }
+            } else {
+                if (value < heap[parent]) {
+                    heap[i] = heap[parent];
+                    bubbleUpMin(parent, value);
+                } else {
+                    bubbleUpMax(i, value);
+                }
+            }
+        }
+
+        /**
+         * Return the smallest value. O(1) operation.
+         */
+        public int peekMin() {
+            if (size == 0) {
+                throw new IllegalStateException("peek from empty heap");
+            }
+            return heap[0];
+        }
+
+        /**
+         * Return the largest value. O(1) operation.
+         */
+        public int peekMax() {
+            if (size == 0) {
+                throw new IllegalStateException("peek from empty heap");
+            }
+            return heap[maxIndex()];
+        }
+
+        /**
+         * Remove and return the smallest value. O(log n) operation.
+         */
+        public int pollMin() {
+            if (size == 0) {
+                throw new IllegalStateException("poll from empty heap");
+            }
+            int min = heap[0];
+            removeAt(0);
+            return min;
+        }
+
+        /**
+         * Remove and return the largest value. O(log n) operation.
+         */
+        public int pollMax() {
+            if (size == 0) {
+                throw new IllegalStateException("poll from empty heap");
+            }
+            int i = maxIndex();
+            int max = heap[i];
+            removeAt(i);
+            return max;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public void clear() {
+            size = 0;
+        }
+
+        private int maxIndex() {
+            if (size == 1) {
+                return 0;
+            }
+            if (size == 2) {
+                return 1;
+            }
+            return heap[1] >= heap[2] ? 1 : 2;
+        }
+
+        // Move the last element into the hole at i and restore order below it
+        private void removeAt(int i) {
+            int last = heap[--size];
+            if (i < size) {
+                if (isMinLevel(i)) {
+                    trickleDownMin(i, last);
+                } else {
+                    trickleDownMax(i, last);
+                }
+            }
+        }
+
+        // Hole at i on a min level; compare with grandparents only
+        private void bubbleUpMin(int i, int value) {
+            while (i > 2) {
+                int grandparent = (((i - 1) >>> 1) - 1) >>> 1;
+                if (heap[grandparent] <= value) {
+                    break;
+                }
+                heap[i] = heap[grandparent];
+                i = grandparent;
+            }
+            heap[i] = value;
+        }
+
+        private void bubbleUpMax(int i, int value) {
+            while (i > 2) {
+                int grandparent = (((i - 1) >>> 1) - 1) >>> 1;
+                if (heap[grandparent] >= value) {
+                    break;
+                }
+                heap[i] = heap[grandparent];
+                i = grandparent;
+            }
+            heap[i] = value;
+        }
+
+        // Place value into the hole at min-level i, walking down through grandchildren
+        private void trickleDownMin(int i, int value) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                // Smallest of up to 2 children and 4 grandchildren
+                int m = child;
+                if (child + 1 < size && heap[child + 1] < heap[m]) {
+                    m = child + 1;
+                }
+                int grandchild = 2 * child + 1;
+                for (int g = grandchild; g < grandchild + 4 && g < size; g++) {
+                    if (heap[g] < heap[m]) {
+                        m = g;
+                    }
+                }
+                if (heap[m] >= value) {
+                    break;
+                }
+                heap[i] = heap[m];
+                if (m < grandchild) {
+                    // Child on a max level: no grandchildren below it to fix
+                    i = m;
+                    break;
+                }
+                int parent = (m - 1) >>> 1;
+                if (value > heap[parent]) {
+                    int t = heap[parent];
+                    heap[parent] = value;
+                    value = t;
+                }
+                i = m;
+            }
+            heap[i] = value;
+        }
+
+        private void trickleDownMax(int i, int value) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                int m = child;
+                if (child + 1 < size && heap[child + 1] > heap[m]) {
+                    m = child + 1;
+                }
+                int grandchild = 2 * child + 1;
+                for (int g = grandchild; g < grandchild + 4 && g < size; g++) {
+                    if (heap[g] > heap[m]) {
+                        m = g;
+                    }
+                }
+                if (heap[m] <= value) {
+                    break;
+                }
+                heap[i] = heap[m];
+                if (m < grandchild) {
+                    i = m;
+                    break;
+                }
+                int parent = (m - 1) >>> 1;
+                if (value < heap[parent]) {
+                    int t = heap[parent];
+                    heap[parent] = value;
+                    value = t;
+                }
+                i = m;
+            }
+            heap[i] = value;
+        }
+    }
+
+    /**
+     * Min-max heap of primitive longs. Same layout as IntMinMaxHeap.
+     */
+    public static class LongMinMaxHeap {
+        private static final int INITIAL_CAPACITY = 16;
+        private long[] heap;
+        private int size;
+
+        public LongMinMaxHeap() {
+            this(INITIAL_CAPACITY);
+        }
+
+        public LongMinMaxHeap(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            heap = new long[capacity];
+        }
+
+        /**
+         * Add value. O(log n) operation.
+         */
+        public void insert(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, heap.length * 2);
+            }
+            int i = size++;
+            heap[i] = value;
+            if (i == 0) {
+                return;
+            }
+            int parent = (i - 1) >>> 1;
+            if (isMinLevel(i)) {
+                if (value > heap[parent]) {
+                    heap[i] = heap[parent];
+                    bubbleUpMax(parent, value);
+                } else {
+                    bubbleUpMin(i, value);
+                }
+            } else {
+                if (value < heap[parent]) {
+                    heap[i] = heap[parent];
+                    bubbleUpMin(parent, value);
+                } else {
+                    bubbleUpMax(i, value);
+                }
+            }
+        }
+
+        /**
+         * Return the smallest value. O(1) operation.
+         */
+        public long peekMin() {
+            if (size == 0) {
+                throw new IllegalStateException("peek from empty heap");
+            }
+            return heap[0];
+        }
+
+        /**
+         * Return the largest value. O(1) operation.
+         */
+        public long peekMax() {
+            if (size == 0) {
+                throw new IllegalStateException("peek from empty heap");
+            }
+            return heap[maxIndex()];
+        }
+
+        /**
+         * Remove and return the smallest value. O(log n) operation.
+         */
+        public long pollMin() {
+            if (size == 0) {
+                throw new IllegalStateException("poll from empty heap");
+            }
+            long min = heap[0];
+            removeAt(0);
+            return min;
+        }
+
+        /**
+         * Remove and return the largest value. O(log n) operation.
+         */
+        public long pollMax() {
+            if (size == 0) {
+                throw new IllegalStateException("poll from empty heap");
+            }
+            int i = maxIndex();
+            long max = heap[i];
+            removeAt(i);
+            return max;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public void clear() {
+            size = 0;
+        }
+
+        private int maxIndex() {
+            if (size == 1) {
+                return 0;
+            }
+            if (size == 2) {
+                return 1;
+            }
+            return heap[1] >= heap[2] ? 1 : 2;
+        }
+
+        private void removeAt(int i) {
+            long last = heap[--size];
+            if (i < size) {
+                if (isMinLevel(i)) {
+                    trickleDownMin(i, last);
+                } else {
+                    trickleDownMax(i, last);
+                }
+            }
+        }
+
+        private void bubbleUpMin(int i, long value) {
+            while (i > 2) {
+                int grandparent = (((i - 1) >>> 1) - 1) >>> 1;
+                if (heap[grandparent] <= value) {
+                    break;
+                }
+                heap[i] = heap[grandparent];
+                i = grandparent;
+            }
+            heap[i] = value;
+        }
+
+        private void bubbleUpMax(int i, long value) {
+            while (i > 2) {
+                int grandparent = (((i - 1) >>> 1) - 1) >>> 1;
+                if (heap[grandparent] >= value) {
+                    break;
+                }
+                heap[i] = heap[grandparent];
+                i = grandparent;
+            }
+            heap[i] = value;
+        }
+
+        private void trickleDownMin(int i, long value) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                int m = child;
+                if (child + 1 < size && heap[child + 1] < heap[m]) {
+                    m = child + 1;
+                }
+                int grandchild = 2 * child + 1;
+                for (int g = grandchild; g < grandchild + 4 && g < size; g++) {
+                    if (heap[g] < heap[m]) {
+                        m = g;
+                    }
+                }
+                if (heap[m] >= value) {
+                    break;
+                }
+                heap[i] = heap[m];
+                if (m < grandchild) {
+                    i = m;
+                    break;
+                }
+                int parent = (m - 1) >>> 1;
+                if (value > heap[parent]) {
+                    long t = heap[parent];
+                    heap[parent] = value;
+                    value = t;
+                }
+                i = m;
+            }
+            heap[i] = value;
+        }
+
+        private void trickleDownMax(int i, long value) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                int m = child;
+                if (child + 1 < size && heap[child + 1] > heap[m]) {
+                    m = child + 1;
+                }
+                int grandchild = 2 * child + 1;
+                for (int g = grandchild; g < grandchild + 4 && g < size; g++) {
+                    if (heap[g] > heap[m]) {
+                        m = g;
+                    }
+                }
+                if (heap[m] <= value) {
+                    break;
+                }
+                heap[i] = heap[m];
+                if (m < grandchild) {
+                    i = m;
+                    break;
+                }
+                int parent = (m - 1) >>> 1;
+                if (value < heap[parent]) {
+                    long t = heap[parent];
+                    heap[parent] = value;
+                    value = t;
+                }
+                i = m;
+            }
+            heap[i] = value;
+        }
+    }
+
+    // Level of index i is floor(log2(i + 1)); even levels are min levels
+    private static boolean isMinLevel(int i) {
+        return (Integer.numberOfLeadingZeros(i + 1) & 1) == 1;
+    }
+
+    /**
+     * Baseline double-ended queue: every value lives in both a min-heap and a max-heap,
+     * and values polled from one side are skipped lazily when they surface on the other.
+     */
+    static class TwoHeapDeque {
+        private final IntMinHeap minHeap = new IntMinHeap();
+        private final IntMaxHeap maxHeap = new IntMaxHeap();
+        private final HashMap<Integer, Integer> goneFromMin = new HashMap<>();
+        private final HashMap<Integer, Integer> goneFromMax = new HashMap<>();
+        private int size;
+
+        void insert(int value) {
+            minHeap.insert(value);
+            maxHeap.insert(value);
+            size++;
+        }
+
+        int pollMin() {
+            if (size == 0) {
+                throw new IllegalStateException("poll from empty heap");
+            }
+            while (consume(goneFromMin, minHeap.peek())) {
+                minHeap.poll();
+            }
+            int min = minHeap.poll();
+            goneFromMax.merge(min, 1, Integer::sum);
+            size--;
+            return min;
+        }
+
+        int pollMax() {
+            if (size == 0) {
+                throw new IllegalStateException("poll from empty heap");
+            }
+            while (consume(goneFromMax, maxHeap.peek())) {
+                maxHeap.poll();
+            }
+            int max = maxHeap.poll();
+            goneFromMin.merge(max, 1, Integer::sum);
+            size--;
+            return max;
+        }
+
+        private static boolean consume(HashMap<Integer, Integer> gone, int value) {
+            Integer count = gone.get(value);
+            if (count == null) {
+                return false;
+            }
+            if (count == 1) {
+                gone.remove(value);
+            } else {
+                gone.put(value, count - 1);
+            }
+            return true;
+        }
+    }
+
+    private static volatile long blackholeSink;
+
+    public static void main(String[] args) {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        IntMinMaxHeap heap = new IntMinMaxHeap();
+        int[] values = {3, 1, 4, 1, 5, 9, 2, 6, 5, 3};
+        for (int val : values) {
+            heap.insert(val);
+        }
+        System.out.println("Min: " + heap.peekMin() + ", Max: " + heap.peekMax());
+
+        // Drain alternately from both ends
+        StringBuilder sb = new StringBuilder("Polled min/max alternately:");
+        for (boolean fromMin = true; !heap.isEmpty(); fromMin = !fromMin) {
+            sb.append(' ').append(fromMin ? heap.pollMin() : heap.pollMax());
+        }
+        System.out.println(sb);
+
+        LongMinMaxHeap longs = new LongMinMaxHeap();
+        longs.insert(1L << 40);
+        longs.insert(-7L);
+        longs.insert(42L);
+        System.out.println("Long heap: min " + longs.peekMin() + ", max " + longs.peekMax());
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Double-ended workload benchmark: fill, then mixed insert/pollMin/pollMax
+        int n = 1_000_000;
+        int ops = 4_000_000;
+        Random random = new Random(42);
+        int[] inputs = new int[n + ops];
+        int[] choices = new int[ops];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = random.nextInt();
+        }
+        for (int i = 0; i < ops; i++) {
+            choices[i] = random.nextInt(4);
+        }
+
+        System.out.println("\n--- Benchmark (" + n + " values, " + ops + " mixed ops) ---");
+        for (int round = 0; round < 2; round++) {
+            long sum = 0;
+            long t0 = System.nanoTime();
+            IntMinMaxHeap mm = new IntMinMaxHeap();
+            for (int i = 0; i < n; i++) {
+                mm.insert(inputs[i]);
+            }
+            for (int i = 0; i < ops; i++) {
+                int c = choices[i];
+                if (c < 2) {
+                    mm.insert(inputs[n + i]);
+                } else if (mm.isEmpty()) {
+                    continue;
+                } else if (c == 2) {
+                    sum += mm.pollMin();
+                } else {
+                    sum += mm.pollMax();
+                }
+            }
+            double minMaxMs = (System.nanoTime() - t0) / 1e6;
+
+            long check = 0;
+            t0 = System.nanoTime();
+            TwoHeapDeque two = new TwoHeapDeque();
+            for (int i = 0; i < n; i++) {
+                two.insert(inputs[i]);
+            }
+            for (int i = 0; i < ops; i++) {
+                int c = choices[i];
+                if (c < 2) {
+                    two.insert(inputs[n + i]);
+                } else if (two.size == 0) {
+                    continue;
+                } else if (c == 2) {
+                    check += two.pollMin();
+                } else {
+                    check += two.pollMax();
+                }
+            }
+            double twoHeapMs = (System.nanoTime() - t0) / 1e6;
+            blackholeSink += sum + check;
+            if (round == 1) {
+                System.out.printf("Min-max heap:      %.1f ms%n", minMaxMs);
+                System.out.printf("Two heaps + lazy:  %.1f ms%n", twoHeapMs);
+                System.out.println("Same results: " + (sum == check));
+            }
+        }
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Insert: O(log n)");
+        System.out.println("  - PollMin/PollMax: O(log n)");
+        System.out.println("  - PeekMin/PeekMax: O(1)");
+        System.out.println("  - Space: O(n), one array");
+    }
+}
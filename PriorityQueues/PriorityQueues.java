@@ -1,5 +1,15 @@
 package PriorityQueues;
 
+import Metrics.MemoryLayout;
+import Metrics.Metrics;
+import Metrics.Metrics.MetricsListener;
+import Serialization.Serialization;
+import Serialization.Serialization.BlockReader;
+import Serialization.Serialization.BlockWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Demonstrates priority queue operations: insert and extract_min.
  * Inserts values and extracts them in ascending order.
@@ -9,31 +19,49 @@ public class PriorityQueues {
         private int[] heap;
         private int size;
         private static final int INITIAL_CAPACITY = 10;
+        private MetricsListener metrics = Metrics.NOOP;
 
         public PriorityQueueImpl() {
             heap = new int[INITIAL_CAPACITY];
             size = 0;
         }
 
+        /**
+         * Report insert and extractMin (poll) latencies and array growth to listener.
+         */
+        public void setMetrics(MetricsListener listener) {
+            this.metrics = listener == null ? Metrics.NOOP : listener;
+        }
+
         public void insert(int val) {
+            MetricsListener m = metrics;
+            long start = m.enabled() ? System.nanoTime() : 0L;
             if (size == heap.length) {
                 resize();
             }
             heap[size] = val;
             heapifyUp(size);
             size++;
+            if (m.enabled()) {
+                m.operation(Metrics.INSERT, System.nanoTime() - start);
+            }
         }
 
         public int extractMin() {
             if (size == 0) {
                 throw new IllegalStateException("extract from empty priority queue");
             }
+            MetricsListener m = metrics;
+            long start = m.enabled() ? System.nanoTime() : 0L;
             int minVal = heap[0];
             int lastVal = heap[--size];
             if (size > 0) {
                 heap[0] = lastVal;
                 heapifyDown(0);
             }
+            if (m.enabled()) {
+                m.operation(Metrics.POLL, System.nanoTime() - start);
+            }
             return minVal;
         }
 
@@ -48,6 +76,43 @@ public class PriorityQueues {
             return size == 0;
         }
 
+        /**
+         * Bytes held by the queue and its heap array, including spare capacity. O(1) operation.
+         */
+        public long retainedSize() {
+            return MemoryLayout.object(2L * MemoryLayout.REFERENCE + 4) + MemoryLayout.array(heap.length, 4);
+        }
+
+        /**
+         * Write the heap array in heap order as one INT block. O(n) time.
+         */
+        public void writeTo(BlockWriter out) throws IOException {
+            out.beginStructure(Serialization.PRIORITY_QUEUE);
+            out.beginBlock(Serialization.INT_BLOCK, size);
+            out.putInts(heap, 0, size);
+        }
+
+        /**
+         * Load a queue written by writeTo straight into its heap array, without re-heapifying.
+         * The heap order is verified. O(n) time.
+         */
+        public static PriorityQueueImpl readFrom(BlockReader in) throws IOException {
+            in.beginStructure(Serialization.PRIORITY_QUEUE);
+            int count = in.beginArrayBlock(Serialization.INT_BLOCK);
+            PriorityQueueImpl queue = new PriorityQueueImpl();
+            if (count > queue.heap.length) {
+                queue.heap = new int[count];
+            }
+            in.getInts(queue.heap, 0, count);
+            for (int i = 1; i < count; i++) {
+                if (queue.heap[i] < queue.heap[(i - 1) / 2]) {
+                    throw new IOException("priority queue heap order violated at " + i);
+                }
+            }
+            queue.size = count;
+            return queue;
+        }
+
         private void heapifyUp(int index) {
             while (index > 0) {
                 int parent = (index - 1) / 2;
@@ -89,11 +154,15 @@ public class PriorityQueues {
         private void resize() {
             int[] newHeap = new int[heap.length * 2];
             System.arraycopy(heap, 0, newHeap, 0, heap.length);
+            MetricsListener m = metrics;
+            if (m.enabled()) {
+                m.resize(heap.length, newHeap.length);
+            }
             heap = newHeap;
         }
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         Runtime runtime = Runtime.getRuntime();
         runtime.gc();
         long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
@@ -110,6 +179,23 @@ public class PriorityQueues {
             System.out.println(pq.extractMin());
         }
 
+        // Live metrics
+        Metrics.StructureMetrics metrics = new Metrics.StructureMetrics();
+        PriorityQueueImpl measured = new PriorityQueueImpl();
+        measured.setMetrics(metrics);
+        for (int i = 0; i < 10_000; i++) {
+            measured.insert((i * 7919) % 10_007);
+        }
+        while (!measured.isEmpty()) {
+            measured.extractMin();
+        }
+        System.out.println("\nMetrics after 10000 inserts and polls:");
+        System.out.println("  Resizes: " + metrics.getResizes() + ", capacity " + metrics.getLastCapacity());
+        System.out.println("  Insert p50/p99: " + metrics.latency(Metrics.INSERT).quantile(0.5) + " / "
+                + metrics.latency(Metrics.INSERT).quantile(0.99) + " ns");
+        System.out.println("  Poll p50/p99: " + metrics.latency(Metrics.POLL).quantile(0.5) + " / "
+                + metrics.latency(Metrics.POLL).quantile(0.99) + " ns");
+
         long endTime = System.nanoTime();
         long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
         long memoryUsed = memoryAfter - memoryBefore;
@@ -118,6 +204,38 @@ public class PriorityQueues {
         System.out.println("\n--- Performance Statistics ---");
         System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
         System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+
+        // Retained size from the array capacity, checked against the heap
+        int count = 1_000_000;
+        PriorityQueueImpl sized = new PriorityQueueImpl();
+        long heapDelta = MemoryLayout.measure(() -> {
+            for (int i = 0; i < count; i++) {
+                sized.insert(count - i);
+            }
+            return sized;
+        });
+        long retained = sized.retainedSize();
+        System.out.printf("Retained size at %d elements: %d bytes (%.1f bytes/element), heap delta %d bytes%n",
+                count, retained, (double) retained / count, heapDelta);
+
+        // Round trip through the binary format
+        Path file = Files.createTempFile("priorityqueue", ".bin");
+        try {
+            long t0 = System.nanoTime();
+            try (BlockWriter out = BlockWriter.create(file)) {
+                sized.writeTo(out);
+            }
+            long t1 = System.nanoTime();
+            PriorityQueueImpl loaded;
+            try (BlockReader in = BlockReader.open(file)) {
+                loaded = PriorityQueueImpl.readFrom(in);
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("Saved %d elements in %d bytes: write %.1f ms, read %.1f ms, min after reload %d%n",
+                    count, Files.size(file), (t1 - t0) / 1e6, (t2 - t1) / 1e6, loaded.peek());
+        } finally {
+            Files.deleteIfExists(file);
+        }
         System.out.println("\nTime Complexity:");
         System.out.println("  - Insert: O(log n)");
         System.out.println("  - Extract_min: O(log n)");
@@ -0,0 +1,338 @@
+package Queues;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Demonstrates a bounded blocking queue that applies backpressure to producers.
+ * Uses a circular int array guarded by a ReentrantLock (no synchronized blocks,
+ * so waiting threads park instead of pinning their carrier).
+ * Runs producers against slower consumers and reports time spent blocked.
+ */
+public class BlockingQueues {
+
+    /**
+     * Bounded FIFO queue of ints with put/take and timed offer/poll.
+     * Waiters spin briefly before parking on a condition.
+     */
+    static class BoundedBlockingQueue {
+        private static final int DEFAULT_SPIN_LIMIT = 64;
+
+        private final int[] items;
+        private final int spinLimit;
+        private int head;
+        private int tail;
+        private volatile int count;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+
+        // Blocking metrics
+        private final AtomicLong putBlockedNanos = new AtomicLong();
+        private final AtomicLong takeBlockedNanos = new AtomicLong();
+        private final AtomicLong putBlockedCount = new AtomicLong();
+        private final AtomicLong takeBlockedCount = new AtomicLong();
+
+        public BoundedBlockingQueue(int capacity) {
+            this(capacity, DEFAULT_SPIN_LIMIT);
+        }
+
+        public BoundedBlockingQueue(int capacity, int spinLimit) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            if (spinLimit < 0) {
+                throw new IllegalArgumentException("spinLimit must not be negative");
+            }
+            this.items = new int[capacity];
+            this.spinLimit = spinLimit;
+        }
+
+        /**
+         * Add element to the rear, waiting while the queue is full. O(1) operation.
+         */
+        public void put(int value) throws InterruptedException {
+            spinWhileFull();
+            lock.lockInterruptibly();
+            try {
+                if (count == items.length) {
+                    long start = System.nanoTime();
+                    while (count == items.length) {
+                        notFull.await();
+                    }
+                    recordBlocked(putBlockedNanos, putBlockedCount, start);
+                }
+                enqueue(value);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Add element to the rear if space is available. O(1) operation.
+         * Returns false immediately when the queue is full.
+         */
+        public boolean offer(int value) {
+            lock.lock();
+            try {
+                if (count == items.length) {
+                    return false;
+                }
+                enqueue(value);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Add element to the rear, waiting up to the given timeout for space.
+         * Returns false if the timeout elapsed before space became available;
+         * a zero timeout fails at once and is not counted as blocking.
+         */
+        public boolean offer(int value, long timeout, TimeUnit unit) throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+            if (nanos > 0L) {
+                spinWhileFull();
+            }
+            lock.lockInterruptibly();
+            try {
+                if (count == items.length) {
+                    if (nanos <= 0L) {
+                        return false;
+                    }
+                    long start = System.nanoTime();
+                    while (count == items.length) {
+                        if (nanos <= 0L) {
+                            recordBlocked(putBlockedNanos, putBlockedCount, start);
+                            return false;
+                        }
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                    recordBlocked(putBlockedNanos, putBlockedCount, start);
+                }
+                enqueue(value);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Remove and return front element, waiting while the queue is empty. O(1) operation.
+         */
+        public int take() throws InterruptedException {
+            spinWhileEmpty();
+            lock.lockInterruptibly();
+            try {
+                if (count == 0) {
+                    long start = System.nanoTime();
+                    while (count == 0) {
+                        notEmpty.await();
+                    }
+                    recordBlocked(takeBlockedNanos, takeBlockedCount, start);
+                }
+                return dequeue();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Remove and return front element, waiting up to the given timeout.
+         * Returns fallback if the queue stayed empty for the whole timeout;
+         * a zero timeout fails at once and is not counted as blocking.
+         */
+        public int pollOr(int fallback, long timeout, TimeUnit unit) throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+            if (nanos > 0L) {
+                spinWhileEmpty();
+            }
+            lock.lockInterruptibly();
+            try {
+                if (count == 0) {
+                    if (nanos <= 0L) {
+                        return fallback;
+                    }
+                    long start = System.nanoTime();
+                    while (count == 0) {
+                        if (nanos <= 0L) {
+                            recordBlocked(takeBlockedNanos, takeBlockedCount, start);
+                            return fallback;
+                        }
+                        nanos = notEmpty.awaitNanos(nanos);
+                    }
+                    recordBlocked(takeBlockedNanos, takeBlockedCount, start);
+                }
+                return dequeue();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Return number of elements in queue. O(1) operation.
+         */
+        public int size() {
+            return count;
+        }
+
+        /**
+         * Return maximum number of elements the queue can hold. O(1) operation.
+         */
+        public int capacity() {
+            return items.length;
+        }
+
+        /**
+         * Check if queue is empty. O(1) operation.
+         */
+        public boolean isEmpty() {
+            return count == 0;
+        }
+
+        public long getPutBlockedNanos() {
+            return putBlockedNanos.get();
+        }
+
+        public long getTakeBlockedNanos() {
+            return takeBlockedNanos.get();
+        }
+
+        public long getPutBlockedCount() {
+            return putBlockedCount.get();
+        }
+
+        public long getTakeBlockedCount() {
+            return takeBlockedCount.get();
+        }
+
+        // Called with lock held and space available
+        private void enqueue(int value) {
+            items[tail] = value;
+            if (++tail == items.length) {
+                tail = 0;
+            }
+            count++;
+            notEmpty.signal();
+        }
+
+        // Called with lock held and at least one element present
+        private int dequeue() {
+            int value = items[head];
+            if (++head == items.length) {
+                head = 0;
+            }
+            count--;
+            notFull.signal();
+            return value;
+        }
+
+        private void spinWhileFull() {
+            for (int i = 0; i < spinLimit && count == items.length; i++) {
+                Thread.onSpinWait();
+            }
+        }
+
+        private void spinWhileEmpty() {
+            for (int i = 0; i < spinLimit && count == 0; i++) {
+                Thread.onSpinWait();
+            }
+        }
+
+        private static void recordBlocked(AtomicLong nanos, AtomicLong counter, long start) {
+            nanos.addAndGet(System.nanoTime() - start);
+            counter.incrementAndGet();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        final int producers = 4;
+        final int consumers = 2;
+        final int itemsPerProducer = 250_000;
+        final int totalItems = producers * itemsPerProducer;
+
+        // Create bounded queue instance
+        BoundedBlockingQueue myQueue = new BoundedBlockingQueue(1024);
+        AtomicLong checksum = new AtomicLong();
+
+        Thread[] threads = new Thread[producers + consumers];
+        for (int p = 0; p < producers; p++) {
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = 1; i <= itemsPerProducer; i++) {
+                        myQueue.put(i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            final int share = totalItems / consumers + (c < totalItems % consumers ? 1 : 0);
+            threads[producers + c] = new Thread(() -> {
+                long sum = 0;
+                try {
+                    for (int i = 0; i < share; i++) {
+                        sum += myQueue.take();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                checksum.addAndGet(sum);
+            });
+        }
+
+        long transferStart = System.nanoTime();
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        long transferTime = System.nanoTime() - transferStart;
+
+        long expected = (long) producers * itemsPerProducer * (itemsPerProducer + 1) / 2;
+        System.out.println("Transferred " + totalItems + " elements through a queue of capacity " + myQueue.capacity());
+        System.out.println("Checksum " + (checksum.get() == expected ? "matches" : "MISMATCH"));
+        System.out.printf("Throughput: %.2f M ops/s%n", totalItems / (transferTime / 1_000.0));
+
+        // Timed offer on a full queue returns false instead of growing it
+        BoundedBlockingQueue small = new BoundedBlockingQueue(2);
+        small.offer(1);
+        small.offer(2);
+        boolean accepted = small.offer(3, 5, TimeUnit.MILLISECONDS);
+        System.out.println("Offer on full queue accepted: " + accepted);
+        small.pollOr(-1, 0, TimeUnit.MILLISECONDS);
+        small.pollOr(-1, 0, TimeUnit.MILLISECONDS);
+        int polled = small.pollOr(-1, 0, TimeUnit.MILLISECONDS);
+        System.out.println("Zero-timeout poll on empty queue: " + polled + ", counted as blocked: "
+                + (small.getTakeBlockedCount() > 0));
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.printf("Producers blocked: %d times, %.4f ms total%n",
+                myQueue.getPutBlockedCount(), myQueue.getPutBlockedNanos() / 1_000_000.0);
+        System.out.printf("Consumers blocked: %d times, %.4f ms total%n",
+                myQueue.getTakeBlockedCount(), myQueue.getTakeBlockedNanos() / 1_000_000.0);
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Put/Offer: O(1)");
+        System.out.println("  - Take/Poll: O(1)");
+        System.out.println("  - Size: O(1)");
+        System.out.println("  - Space: O(capacity)");
+    }
+}
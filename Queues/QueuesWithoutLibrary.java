@@ -1,5 +1,13 @@
 package Queues;
 
+import Metrics.MemoryLayout;
+import Serialization.Serialization;
+import Serialization.Serialization.BlockReader;
+import Serialization.Serialization.BlockWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Demonstrates queue operations using custom linked list implementation.
  * Provides O(1) enqueue and dequeue operations without using standard library.
@@ -90,9 +98,47 @@ public class QueuesWithoutLibrary {
         public int size() {
             return count;
         }
+
+        /**
+         * Bytes held by the queue and its nodes. O(1) operation.
+         */
+        public long retainedSize() {
+            return MemoryLayout.object(2L * MemoryLayout.REFERENCE + 4)
+                    + count * MemoryLayout.object(4 + MemoryLayout.REFERENCE);
+        }
+
+        /**
+         * Write the elements front to rear as one INT block. O(n) time.
+         */
+        public void writeTo(BlockWriter out) throws IOException {
+            out.beginStructure(Serialization.QUEUE);
+            out.beginBlock(Serialization.INT_BLOCK, count);
+            for (Node current = front; current != null; current = current.next) {
+                out.putInt(current.data);
+            }
+        }
+
+        /**
+         * Rebuild a queue written by writeTo, reading the block in chunks. O(n) time.
+         */
+        public static CustomQueue readFrom(BlockReader in) throws IOException {
+            in.beginStructure(Serialization.QUEUE);
+            int total = in.beginArrayBlock(Serialization.INT_BLOCK);
+            CustomQueue queue = new CustomQueue();
+            int[] chunk = new int[4096];
+            for (int done = 0; done < total; ) {
+                int n = Math.min(chunk.length, total - done);
+                in.getInts(chunk, 0, n);
+                for (int i = 0; i < n; i++) {
+                    queue.enqueue(chunk[i]);
+                }
+                done += n;
+            }
+            return queue;
+        }
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         Runtime runtime = Runtime.getRuntime();
         runtime.gc();
         long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
@@ -122,6 +168,38 @@ public class QueuesWithoutLibrary {
         System.out.println("\n--- Performance Statistics ---");
         System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
         System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+
+        // Retained size from the node layout, checked against the heap
+        int count = 1_000_000;
+        CustomQueue measured = new CustomQueue();
+        long heapDelta = MemoryLayout.measure(() -> {
+            for (int i = 0; i < count; i++) {
+                measured.enqueue(i);
+            }
+            return measured;
+        });
+        long retained = measured.retainedSize();
+        System.out.printf("Retained size at %d elements: %d bytes (%.1f bytes/element), heap delta %d bytes%n",
+                count, retained, (double) retained / count, heapDelta);
+
+        // Round trip through the binary format
+        Path file = Files.createTempFile("queue", ".bin");
+        try {
+            long t0 = System.nanoTime();
+            try (BlockWriter out = BlockWriter.create(file)) {
+                measured.writeTo(out);
+            }
+            long t1 = System.nanoTime();
+            CustomQueue loaded;
+            try (BlockReader in = BlockReader.open(file)) {
+                loaded = CustomQueue.readFrom(in);
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("Saved %d elements in %d bytes: write %.1f ms, read %.1f ms, front after reload %d%n",
+                    count, Files.size(file), (t1 - t0) / 1e6, (t2 - t1) / 1e6, loaded.peek());
+        } finally {
+            Files.deleteIfExists(file);
+        }
         System.out.println("\nTime Complexity:");
         System.out.println("  - Enqueue: O(1)");
         System.out.println("  - Dequeue: O(1)");
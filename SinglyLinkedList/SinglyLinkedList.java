@@ -1,5 +1,14 @@
 package SinglyLinkedList;
 
+import Metrics.MemoryLayout;
+import Serialization.Serialization;
+import Serialization.Serialization.BlockReader;
+import Serialization.Serialization.BlockWriter;
+import Serialization.Serialization.Codec;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Demonstrates singly linked list operations.
  * Performs insertions, deletions, and searches on the list.
@@ -42,6 +51,46 @@ public class SinglyLinkedList {
             return size;
         }
 
+        /**
+         * Bytes held by the list and its nodes, not counting the elements. O(1) operation.
+         */
+        long retainedSize() {
+            return MemoryLayout.object(MemoryLayout.REFERENCE + 4)
+                    + size * MemoryLayout.object(2L * MemoryLayout.REFERENCE);
+        }
+
+        /**
+         * Write the elements head to tail as one OBJECT block. O(n) time.
+         */
+        void writeTo(BlockWriter out, Codec<? super T> codec) throws IOException {
+            out.beginStructure(Serialization.SINGLY_LINKED_LIST);
+            out.beginBlock(Serialization.OBJECT_BLOCK, size);
+            for (Node<T> current = head; current != null; current = current.next) {
+                codec.write(out, current.data);
+            }
+        }
+
+        /**
+         * Rebuild a list written by writeTo, appending behind a tail reference. O(n) time.
+         */
+        static <T> SinglyLinkedListImpl<T> readFrom(BlockReader in, Codec<T> codec) throws IOException {
+            in.beginStructure(Serialization.SINGLY_LINKED_LIST);
+            int count = in.beginArrayBlock(Serialization.OBJECT_BLOCK);
+            SinglyLinkedListImpl<T> list = new SinglyLinkedListImpl<>();
+            Node<T> tail = null;
+            for (int i = 0; i < count; i++) {
+                Node<T> node = new Node<>(codec.read(in));
+                if (tail == null) {
+                    list.head = node;
+                } else {
+                    tail.next = node;
+                }
+                tail = node;
+            }
+            list.size = count;
+            return list;
+        }
+
         /**
          * Insert element at the beginning of the list. O(1) operation.
          */
@@ -199,7 +248,7 @@ public class SinglyLinkedList {
         }
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         long startTime = System.nanoTime();
         long memoryBefore = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
 
@@ -244,6 +293,38 @@ public class SinglyLinkedList {
         long memoryAfter = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
         long memoryUsed = memoryAfter - memoryBefore;
 
+        // Retained size from the node layout, checked against the heap
+        int count = 1_000_000;
+        SinglyLinkedListImpl<Integer> measured = new SinglyLinkedListImpl<>();
+        long heapDelta = MemoryLayout.measure(() -> {
+            for (int i = 0; i < count; i++) {
+                measured.insertAtBeginning(i & 127);
+            }
+            return measured;
+        });
+        long retained = measured.retainedSize();
+        System.out.printf("Retained size at %d elements: %d bytes (%.1f bytes/element), heap delta %d bytes%n",
+                count, retained, (double) retained / count, heapDelta);
+
+        // Round trip through the binary format
+        Path file = Files.createTempFile("singlylinkedlist", ".bin");
+        try {
+            long t0 = System.nanoTime();
+            try (BlockWriter out = BlockWriter.create(file)) {
+                measured.writeTo(out, Serialization.INTEGERS);
+            }
+            long t1 = System.nanoTime();
+            SinglyLinkedListImpl<Integer> loaded;
+            try (BlockReader in = BlockReader.open(file)) {
+                loaded = SinglyLinkedListImpl.readFrom(in, Serialization.INTEGERS);
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("Saved %d elements in %d bytes: write %.1f ms, read %.1f ms, size after reload %d%n",
+                    count, Files.size(file), (t1 - t0) / 1e6, (t2 - t1) / 1e6, loaded.getSize());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
         // Performance statistics
         System.out.println("\n--- Performance Statistics ---");
         System.out.println("Execution time: " + ((endTime - startTime) / 1_000_000.0) + " ms");
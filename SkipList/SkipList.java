@@ -1,5 +1,15 @@
 package SkipList;
 
+import Metrics.MemoryLayout;
+import Metrics.Metrics;
+import Metrics.Metrics.MetricsListener;
+import Serialization.Serialization;
+import Serialization.Serialization.BlockReader;
+import Serialization.Serialization.BlockWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Random;
 
 /**
@@ -20,12 +30,13 @@ public class SkipList {
         }
     }
 
-    private static class SkipListImpl {
+    public static class SkipListImpl {
         private static final int MAX_LEVEL = 16;
         private static final double P = 0.5;
         private SkipListNode header;
         private int level;
         private Random random;
+        private MetricsListener metrics = Metrics.NOOP;
 
         public SkipListImpl() {
             this.header = new SkipListNode(Integer.MIN_VALUE, MAX_LEVEL);
@@ -33,6 +44,28 @@ public class SkipList {
             this.random = new Random();
         }
 
+        /**
+         * Report operations, search path lengths (as probes) and node levels to listener.
+         * Existing nodes move their levels from the old listener to the new one, so both
+         * level distributions describe live nodes. O(n) time.
+         */
+        public void setMetrics(MetricsListener listener) {
+            MetricsListener next = listener == null ? Metrics.NOOP : listener;
+            MetricsListener old = metrics;
+            if (next != old) {
+                for (SkipListNode node = header.forward[0]; node != null; node = node.forward[0]) {
+                    int nodeLevel = node.forward.length - 1;
+                    if (old.enabled()) {
+                        old.level(nodeLevel, -1);
+                    }
+                    if (next.enabled()) {
+                        next.level(nodeLevel, 1);
+                    }
+                }
+            }
+            this.metrics = next;
+        }
+
         private int randomLevel() {
             int level = 0;
             while (random.nextDouble() < P && level < MAX_LEVEL) {
@@ -45,24 +78,32 @@ public class SkipList {
          * Search for key in SkipList. O(log n) average time.
          */
         public Integer search(int key) {
+            MetricsListener m = metrics;
+            long start = m.enabled() ? System.nanoTime() : 0L;
+            int steps = 0;
             SkipListNode current = header;
             for (int i = level; i >= 0; i--) {
                 while (current.forward[i] != null && current.forward[i].key < key) {
                     current = current.forward[i];
+                    steps++;
                 }
             }
 
             current = current.forward[0];
-            if (current != null && current.key == key) {
-                return current.key;
+            Integer result = current != null && current.key == key ? current.key : null;
+            if (m.enabled()) {
+                m.probe(steps);
+                m.operation(Metrics.SEARCH, System.nanoTime() - start);
             }
-            return null;
+            return result;
         }
 
         /**
          * Insert key into SkipList. O(log n) average time.
          */
         public void insert(int key) {
+            MetricsListener m = metrics;
+            long start = m.enabled() ? System.nanoTime() : 0L;
             SkipListNode[] update = new SkipListNode[MAX_LEVEL + 1];
             SkipListNode current = header;
 
@@ -91,6 +132,12 @@ public class SkipList {
                     newNode.forward[i] = update[i].forward[i];
                     update[i].forward[i] = newNode;
                 }
+                if (m.enabled()) {
+                    m.level(newLevel, 1);
+                }
+            }
+            if (m.enabled()) {
+                m.operation(Metrics.INSERT, System.nanoTime() - start);
             }
         }
 
@@ -98,6 +145,8 @@ public class SkipList {
          * Delete key from SkipList. O(log n) average time.
          */
         public void delete(int key) {
+            MetricsListener m = metrics;
+            long start = m.enabled() ? System.nanoTime() : 0L;
             SkipListNode[] update = new SkipListNode[MAX_LEVEL + 1];
             SkipListNode current = header;
 
@@ -121,7 +170,98 @@ public class SkipList {
                 while (level > 0 && header.forward[level] == null) {
                     level--;
                 }
+                if (m.enabled()) {
+                    m.level(current.forward.length - 1, -1);
+                }
+            }
+            if (m.enabled()) {
+                m.operation(Metrics.DELETE, System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Count keys in [low, high]. O(log n + k) average time.
+         */
+        public int countRange(int low, int high) {
+            MetricsListener m = metrics;
+            long start = m.enabled() ? System.nanoTime() : 0L;
+            SkipListNode current = header;
+            for (int i = level; i >= 0; i--) {
+                while (current.forward[i] != null && current.forward[i].key < low) {
+                    current = current.forward[i];
+                }
+            }
+
+            int count = 0;
+            current = current.forward[0];
+            while (current != null && current.key <= high) {
+                count++;
+                current = current.forward[0];
+            }
+            if (m.enabled()) {
+                m.operation(Metrics.RANGE, System.nanoTime() - start);
             }
+            return count;
+        }
+
+        /**
+         * Bytes held by the list, its header and every node with its forward array. O(n) time.
+         */
+        public long retainedSize() {
+            long nodeBytes = MemoryLayout.object(4 + MemoryLayout.REFERENCE);
+            long bytes = MemoryLayout.object(3L * MemoryLayout.REFERENCE + 4);
+            for (SkipListNode node = header; node != null; node = node.forward[0]) {
+                bytes += nodeBytes + MemoryLayout.referenceArray(node.forward.length);
+            }
+            return bytes;
+        }
+
+        /**
+         * Write the keys in ascending order as one INT block. O(n) time.
+         */
+        public void writeTo(BlockWriter out) throws IOException {
+            long count = 0;
+            for (SkipListNode node = header.forward[0]; node != null; node = node.forward[0]) {
+                count++;
+            }
+            out.beginStructure(Serialization.SKIP_LIST);
+            out.beginBlock(Serialization.INT_BLOCK, count);
+            for (SkipListNode node = header.forward[0]; node != null; node = node.forward[0]) {
+                out.putInt(node.key);
+            }
+        }
+
+        /**
+         * Rebuild a list written by writeTo. Keys arrive sorted, so each node is linked
+         * behind the last node of every level it joins: O(n) time instead of O(n log n).
+         */
+        public static SkipListImpl readFrom(BlockReader in) throws IOException {
+            in.beginStructure(Serialization.SKIP_LIST);
+            long count = in.beginBlock(Serialization.INT_BLOCK);
+            SkipListImpl list = new SkipListImpl();
+            SkipListNode[] last = new SkipListNode[MAX_LEVEL + 1];
+            Arrays.fill(last, list.header);
+            int[] chunk = new int[4096];
+            long previous = Long.MIN_VALUE;
+            for (long done = 0; done < count; ) {
+                int n = (int) Math.min(chunk.length, count - done);
+                in.getInts(chunk, 0, n);
+                for (int i = 0; i < n; i++) {
+                    if (chunk[i] <= previous) {
+                        throw new IOException("skip list keys must be strictly increasing");
+                    }
+                    previous = chunk[i];
+                    int newLevel = list.randomLevel();
+                    SkipListNode node = new SkipListNode(chunk[i], newLevel);
+                    for (int l = 0; l <= newLevel; l++) {
+                        last[l].forward[l] = node;
+                        last[l] = node;
+                    }
+                    list.level = Math.max(list.level, newLevel);
+                }
+                done += n;
+            }
+            return list;
         }
 
         /**
@@ -142,7 +282,51 @@ public class SkipList {
         }
     }
 
-    public static void main(String[] args) {
+    private static volatile long blackholeSink;
+
+    // Insert n shuffled keys, then search each once; returns elapsed nanoseconds
+    private static long run(SkipListImpl list, int[] keys) {
+        long start = System.nanoTime();
+        for (int key : keys) {
+            list.insert(key);
+        }
+        long found = 0;
+        for (int key : keys) {
+            if (list.search(key) != null) {
+                found++;
+            }
+        }
+        blackholeSink = found;
+        return System.nanoTime() - start;
+    }
+
+    // Overhead of the metrics hooks: default no-op listener vs a recording one.
+    // Kept out of main so its lists are garbage before the retained-size check.
+    private static void benchmarkMetricsOverhead() {
+        int n = 200_000;
+        int[] keys = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            keys[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = keys[i];
+            keys[i] = keys[j];
+            keys[j] = t;
+        }
+        for (int round = 0; round < 3; round++) {
+            run(new SkipListImpl(), keys);
+        }
+        long noop = run(new SkipListImpl(), keys);
+        SkipListImpl recorded = new SkipListImpl();
+        recorded.setMetrics(new Metrics.StructureMetrics());
+        long recording = run(recorded, keys);
+        System.out.printf("Insert + search %d keys: no-op %.1f ms, recording %.1f ms%n",
+                n, noop / 1e6, recording / 1e6);
+    }
+
+    public static void main(String[] args) throws IOException {
         Runtime runtime = Runtime.getRuntime();
         runtime.gc();
         long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
@@ -172,6 +356,24 @@ public class SkipList {
         skipList.delete(17);
         System.out.println("\nAfter deleting 17:");
         skipList.display();
+
+        // Live metrics
+        Metrics.StructureMetrics metrics = new Metrics.StructureMetrics();
+        SkipListImpl measured = new SkipListImpl();
+        measured.setMetrics(metrics);
+        for (int i = 0; i < 10_000; i++) {
+            measured.insert(i * 7 % 10_007);
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            measured.search(i);
+            measured.delete(i);
+        }
+        System.out.println("\nMetrics after 10000 inserts, 5000 searches and 5000 deletes:");
+        System.out.println("  Operation counts: " + Arrays.toString(metrics.getOperationCounts()));
+        System.out.println("  Search p50/p99: " + metrics.latency(Metrics.SEARCH).quantile(0.5) + " / "
+                + metrics.latency(Metrics.SEARCH).quantile(0.99) + " ns");
+        System.out.printf("  Mean search path: %.1f nodes%n", metrics.getMeanProbeLength());
+        System.out.println("  Level distribution: " + Arrays.toString(metrics.getLevelDistribution()));
         
         long endTime = System.nanoTime();
         long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
@@ -181,6 +383,44 @@ public class SkipList {
         System.out.println("\n--- Performance Statistics ---");
         System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
         System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+
+        benchmarkMetricsOverhead();
+
+        // Retained size from the node layout, checked against the heap
+        int count = 1_000_000;
+        SkipListImpl[] built = new SkipListImpl[1];
+        long heapDelta = MemoryLayout.measure(() -> {
+            SkipListImpl list = new SkipListImpl();
+            for (int i = 0; i < count; i++) {
+                list.insert(i);
+            }
+            built[0] = list;
+            return list;
+        });
+        long retained = built[0].retainedSize();
+        System.out.printf("Retained size at %d keys: %d bytes (%.1f bytes/key), heap delta %d bytes%n",
+                count, retained, (double) retained / count, heapDelta);
+
+        // Round trip through the binary format
+        Path file = Files.createTempFile("skiplist", ".bin");
+        try {
+            long t0 = System.nanoTime();
+            try (BlockWriter out = BlockWriter.create(file)) {
+                built[0].writeTo(out);
+            }
+            long t1 = System.nanoTime();
+            SkipListImpl loaded;
+            try (BlockReader in = BlockReader.open(file)) {
+                loaded = SkipListImpl.readFrom(in);
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("Saved %d keys in %d bytes: write %.1f ms, read %.1f ms, %d keys in [0, %d] after reload%n",
+                    count, Files.size(file), (t1 - t0) / 1e6, (t2 - t1) / 1e6,
+                    loaded.countRange(0, count), count);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
         System.out.println("\nTime Complexity (Average):");
         System.out.println("  - Search: O(log n)");
         System.out.println("  - Insert: O(log n)");
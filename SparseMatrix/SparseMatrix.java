@@ -0,0 +1,510 @@
+package SparseMatrix;
+
+import static Arrays.Arrays.forEachBlock;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Demonstrates sparse matrices stored in primitive arrays: coordinate (COO) form for
+ * building, then compressed sparse row (CSR) and column (CSC) forms for arithmetic.
+ * Matrix-vector and matrix-matrix products are split into row blocks of roughly equal
+ * non-zero count and run on a ForkJoinPool.
+ * Benchmarks conversion, SpMV and SpGEMM on matrices with over 1e7 non-zeros.
+ */
+public class SparseMatrix {
+
+    /**
+     * Triplet list (row, col, value) with amortized O(1) append. Duplicates are summed on conversion.
+     */
+    static class COOMatrix {
+        private final int rows;
+        private final int cols;
+        private int[] rowIdx;
+        private int[] colIdx;
+        private double[] values;
+        private int nnz;
+
+        COOMatrix(int rows, int cols) {
+            this(rows, cols, 16);
+        }
+
+        COOMatrix(int rows, int cols, int expectedNonZeros) {
+            if (rows < 0 || cols < 0) {
+                throw new IllegalArgumentException("dimensions must not be negative");
+            }
+            this.rows = rows;
+            this.cols = cols;
+            int capacity = Math.max(1, expectedNonZeros);
+            this.rowIdx = new int[capacity];
+            this.colIdx = new int[capacity];
+            this.values = new double[capacity];
+        }
+
+        /**
+         * Append entry (r, c) = value. Amortized O(1).
+         */
+        void add(int r, int c, double value) {
+            if (r < 0 || r >= rows || c < 0 || c >= cols) {
+                throw new IllegalArgumentException("entry (" + r + ", " + c + ") out of range");
+            }
+            if (nnz == rowIdx.length) {
+                rowIdx = Arrays.copyOf(rowIdx, nnz * 2);
+                colIdx = Arrays.copyOf(colIdx, nnz * 2);
+                values = Arrays.copyOf(values, nnz * 2);
+            }
+            rowIdx[nnz] = r;
+            colIdx[nnz] = c;
+            values[nnz] = value;
+            nnz++;
+        }
+
+        int nnz() {
+            return nnz;
+        }
+
+        /**
+         * Convert to CSR with sorted columns and summed duplicates. O(nnz + rows + cols).
+         */
+        CSRMatrix toCSR() {
+            return compress(rowIdx, colIdx, rows, cols);
+        }
+
+        /**
+         * Convert to CSC with sorted rows and summed duplicates. O(nnz + rows + cols).
+         */
+        CSCMatrix toCSC() {
+            // CSR of the transpose has exactly the CSC arrays
+            CSRMatrix t = compress(colIdx, rowIdx, cols, rows);
+            return new CSCMatrix(rows, cols, t.rowPtr, t.colIdx, t.values);
+        }
+
+        // Two stable counting sorts (by minor, then by major) leave each major line sorted
+        private CSRMatrix compress(int[] major, int[] minor, int majorCount, int minorCount) {
+            int[] byMinor = countingOrder(minor, null, minorCount);
+            int[] order = countingOrder(major, byMinor, majorCount);
+
+            int[] pointers = new int[majorCount + 1];
+            int[] indices = new int[nnz];
+            double[] merged = new double[nnz];
+            int write = 0;
+            int line = 0;
+            for (int k = 0; k < nnz; k++) {
+                int e = order[k];
+                int m = major[e];
+                while (line < m) {
+                    pointers[++line] = write;
+                }
+                if (write > pointers[line] && indices[write - 1] == minor[e]) {
+                    merged[write - 1] += values[e];
+                } else {
+                    indices[write] = minor[e];
+                    merged[write] = values[e];
+                    write++;
+                }
+            }
+            while (line < majorCount) {
+                pointers[++line] = write;
+            }
+            return new CSRMatrix(majorCount, minorCount, pointers,
+                    write == nnz ? indices : Arrays.copyOf(indices, write),
+                    write == nnz ? merged : Arrays.copyOf(merged, write));
+        }
+
+        // Stable counting sort of entry ids (in the given order, or 0..nnz-1) by keys
+        private int[] countingOrder(int[] keys, int[] input, int keyCount) {
+            int[] start = new int[keyCount + 1];
+            for (int e = 0; e < nnz; e++) {
+                start[keys[e] + 1]++;
+            }
+            for (int k = 0; k < keyCount; k++) {
+                start[k + 1] += start[k];
+            }
+            int[] order = new int[nnz];
+            for (int k = 0; k < nnz; k++) {
+                int e = input == null ? k : input[k];
+                order[start[keys[e]]++] = e;
+            }
+            return order;
+        }
+    }
+
+    /**
+     * Compressed sparse row matrix: row r holds colIdx/values[rowPtr[r] .. rowPtr[r + 1]),
+     * columns sorted within each row.
+     */
+    static class CSRMatrix {
+        private final int rows;
+        private final int cols;
+        private final int[] rowPtr;
+        private final int[] colIdx;
+        private final double[] values;
+
+        CSRMatrix(int rows, int cols, int[] rowPtr, int[] colIdx, double[] values) {
+            this.rows = rows;
+            this.cols = cols;
+            this.rowPtr = rowPtr;
+            this.colIdx = colIdx;
+            this.values = values;
+        }
+
+        int rows() {
+            return rows;
+        }
+
+        int cols() {
+            return cols;
+        }
+
+        int nnz() {
+            return rowPtr[rows];
+        }
+
+        /**
+         * Return entry (r, c), 0 if absent. O(log nnz(row)) time.
+         */
+        double get(int r, int c) {
+            int k = Arrays.binarySearch(colIdx, rowPtr[r], rowPtr[r + 1], c);
+            return k >= 0 ? values[k] : 0.0;
+        }
+
+        /**
+         * y = A x on the calling thread. O(nnz) time.
+         */
+        void multiply(double[] x, double[] y) {
+            checkVector(x, y);
+            multiplyRows(0, rows, x, y);
+        }
+
+        /**
+         * y = A x with row blocks of balanced non-zero count run on pool. O(nnz) work.
+         */
+        void multiply(double[] x, double[] y, ForkJoinPool pool) {
+            checkVector(x, y);
+            int[] bounds = rowBlocks(pool.getParallelism() * 8);
+            forEachBlock(pool, bounds.length - 1, b -> multiplyRows(bounds[b], bounds[b + 1], x, y));
+        }
+
+        /**
+         * C = A B (Gustavson's row-by-row algorithm). A symbolic pass sizes each output row,
+         * a numeric pass fills it; both run by row blocks on pool. O(flops + nnz(C) log) work.
+         */
+        CSRMatrix multiply(CSRMatrix b, ForkJoinPool pool) {
+            if (cols != b.rows) {
+                throw new IllegalArgumentException("dimension mismatch: " + cols + " vs " + b.rows);
+            }
+            int[] bounds = rowBlocks(pool.getParallelism() * 4);
+            int blocks = bounds.length - 1;
+            int[] outPtr = new int[rows + 1];
+
+            forEachBlock(pool, blocks, blk -> {
+                int[] marker = new int[b.cols];
+                Arrays.fill(marker, -1);
+                for (int r = bounds[blk]; r < bounds[blk + 1]; r++) {
+                    int count = 0;
+                    for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++) {
+                        int mid = colIdx[k];
+                        for (int j = b.rowPtr[mid]; j < b.rowPtr[mid + 1]; j++) {
+                            int c = b.colIdx[j];
+                            if (marker[c] != r) {
+                                marker[c] = r;
+                                count++;
+                            }
+                        }
+                    }
+                    outPtr[r + 1] = count;
+                }
+            });
+            for (int r = 0; r < rows; r++) {
+                outPtr[r + 1] += outPtr[r];
+            }
+
+            int[] outCols = new int[outPtr[rows]];
+            double[] outValues = new double[outPtr[rows]];
+            forEachBlock(pool, blocks, blk -> {
+                double[] accumulator = new double[b.cols];
+                int[] marker = new int[b.cols];
+                Arrays.fill(marker, -1);
+                for (int r = bounds[blk]; r < bounds[blk + 1]; r++) {
+                    int start = outPtr[r];
+                    int end = start;
+                    for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++) {
+                        int mid = colIdx[k];
+                        double a = values[k];
+                        for (int j = b.rowPtr[mid]; j < b.rowPtr[mid + 1]; j++) {
+                            int c = b.colIdx[j];
+                            if (marker[c] != r) {
+                                marker[c] = r;
+                                outCols[end++] = c;
+                            }
+                            accumulator[c] += a * b.values[j];
+                        }
+                    }
+                    Arrays.sort(outCols, start, end);
+                    for (int k = start; k < end; k++) {
+                        outValues[k] = accumulator[outCols[k]];
+                        accumulator[outCols[k]] = 0.0;
+                    }
+                }
+            });
+            return new CSRMatrix(rows, b.cols, outPtr, outCols, outValues);
+        }
+
+        /**
+         * Convert to CSC (equivalently, the CSR form of the transpose). O(nnz + rows + cols).
+         */
+        CSCMatrix toCSC() {
+            int[] colPtr = new int[cols + 1];
+            int nnz = nnz();
+            for (int k = 0; k < nnz; k++) {
+                colPtr[colIdx[k] + 1]++;
+            }
+            for (int c = 0; c < cols; c++) {
+                colPtr[c + 1] += colPtr[c];
+            }
+            int[] cursor = Arrays.copyOf(colPtr, cols);
+            int[] rowIdx = new int[nnz];
+            double[] cscValues = new double[nnz];
+            // Rows are visited in order, so each column's row list comes out sorted
+            for (int r = 0; r < rows; r++) {
+                for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++) {
+                    int dst = cursor[colIdx[k]]++;
+                    rowIdx[dst] = r;
+                    cscValues[dst] = values[k];
+                }
+            }
+            return new CSCMatrix(rows, cols, colPtr, rowIdx, cscValues);
+        }
+
+        /**
+         * Split rows into at most count contiguous blocks of about nnz / count entries each.
+         */
+        int[] rowBlocks(int count) {
+            count = Math.max(1, Math.min(count, rows));
+            int[] bounds = new int[count + 1];
+            long nnz = nnz();
+            int blocks = 0;
+            for (int k = 1; k < count; k++) {
+                int target = (int) (nnz * k / count);
+                int row = lowerBound(rowPtr, 0, rows, target);
+                if (row > bounds[blocks]) {
+                    bounds[++blocks] = row;
+                }
+            }
+            if (rows > bounds[blocks]) {
+                bounds[++blocks] = rows;
+            }
+            return Arrays.copyOf(bounds, blocks + 1);
+        }
+
+        private void multiplyRows(int from, int to, double[] x, double[] y) {
+            for (int r = from; r < to; r++) {
+                double sum = 0.0;
+                for (int k = rowPtr[r], end = rowPtr[r + 1]; k < end; k++) {
+                    sum += values[k] * x[colIdx[k]];
+                }
+                y[r] = sum;
+            }
+        }
+
+        private void checkVector(double[] x, double[] y) {
+            if (x.length != cols || y.length != rows) {
+                throw new IllegalArgumentException("vector length mismatch");
+            }
+        }
+
+        void display() {
+            for (int r = 0; r < rows; r++) {
+                StringBuilder sb = new StringBuilder();
+                for (int c = 0; c < cols; c++) {
+                    sb.append(String.format("%6.1f", get(r, c)));
+                }
+                System.out.println(sb);
+            }
+        }
+    }
+
+    /**
+     * Compressed sparse column matrix: column c holds rowIdx/values[colPtr[c] .. colPtr[c + 1]).
+     * Column blocks make A^T x an independent gather per output entry.
+     */
+    static class CSCMatrix {
+        private final int rows;
+        private final int cols;
+        private final int[] colPtr;
+        private final int[] rowIdx;
+        private final double[] values;
+
+        CSCMatrix(int rows, int cols, int[] colPtr, int[] rowIdx, double[] values) {
+            this.rows = rows;
+            this.cols = cols;
+            this.colPtr = colPtr;
+            this.rowIdx = rowIdx;
+            this.values = values;
+        }
+
+        int nnz() {
+            return colPtr[cols];
+        }
+
+        /**
+         * y = A x by scattering each column. Sequential, O(nnz + rows).
+         */
+        void multiply(double[] x, double[] y) {
+            if (x.length != cols || y.length != rows) {
+                throw new IllegalArgumentException("vector length mismatch");
+            }
+            Arrays.fill(y, 0.0);
+            for (int c = 0; c < cols; c++) {
+                double xc = x[c];
+                for (int k = colPtr[c], end = colPtr[c + 1]; k < end; k++) {
+                    y[rowIdx[k]] += values[k] * xc;
+                }
+            }
+        }
+
+        /**
+         * y = A^T x with column blocks run on pool. O(nnz) work.
+         */
+        void multiplyTranspose(double[] x, double[] y, ForkJoinPool pool) {
+            if (x.length != rows || y.length != cols) {
+                throw new IllegalArgumentException("vector length mismatch");
+            }
+            // The CSC arrays are the CSR arrays of the transpose
+            new CSRMatrix(cols, rows, colPtr, rowIdx, values).multiply(x, y, pool);
+        }
+
+        /**
+         * Convert back to CSR. O(nnz + rows + cols).
+         */
+        CSRMatrix toCSR() {
+            CSCMatrix transposed = new CSRMatrix(cols, rows, colPtr, rowIdx, values).toCSC();
+            return new CSRMatrix(rows, cols, transposed.colPtr, transposed.rowIdx, transposed.values);
+        }
+    }
+
+    // First index in a[from, to] whose value is >= key
+    private static int lowerBound(int[] a, int from, int to, int key) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static CSRMatrix randomMatrix(int n, int perRow, long seed) {
+        Random random = new Random(seed);
+        COOMatrix coo = new COOMatrix(n, n, n * perRow);
+        for (int r = 0; r < n; r++) {
+            for (int k = 0; k < perRow; k++) {
+                coo.add(r, random.nextInt(n), random.nextDouble() + 0.5);
+            }
+        }
+        return coo.toCSR();
+    }
+
+    private static volatile double blackholeSink;
+
+    public static void main(String[] args) {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        // Build a 4x4 matrix in COO form; (1, 2) is given twice and gets summed
+        COOMatrix coo = new COOMatrix(4, 4);
+        coo.add(0, 0, 4);
+        coo.add(1, 2, 1);
+        coo.add(3, 1, 2);
+        coo.add(1, 2, 2);
+        coo.add(2, 3, 5);
+        coo.add(0, 3, 1);
+        CSRMatrix a = coo.toCSR();
+        System.out.println("A (" + a.nnz() + " non-zeros):");
+        a.display();
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        double[] x = {1, 2, 3, 4};
+        double[] y = new double[4];
+        a.multiply(x, y, pool);
+        System.out.println("\nA x = " + Arrays.toString(y));
+        a.toCSC().multiplyTranspose(x, y, pool);
+        System.out.println("A^T x = " + Arrays.toString(y));
+        System.out.println("\nA A:");
+        a.multiply(a, pool).display();
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Large matrix benchmark
+        int n = 1_000_000;
+        int perRow = 12;
+        System.out.println("\n--- Benchmark (" + n + " x " + n + ", " + perRow + " entries per row, "
+                + pool.getParallelism() + " pool threads) ---");
+        long t0 = System.nanoTime();
+        CSRMatrix big = randomMatrix(n, perRow, 42);
+        System.out.printf("COO build + CSR conversion: %.1f ms (%d non-zeros)%n",
+                (System.nanoTime() - t0) / 1e6, big.nnz());
+        t0 = System.nanoTime();
+        CSCMatrix bigCsc = big.toCSC();
+        System.out.printf("CSR -> CSC: %.1f ms%n", (System.nanoTime() - t0) / 1e6);
+
+        double[] bx = new double[n];
+        double[] by = new double[n];
+        Arrays.fill(bx, 1.0);
+        int iterations = 10;
+        for (int round = 0; round < 2; round++) {
+            t0 = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                big.multiply(bx, by);
+            }
+            double sequential = (System.nanoTime() - t0) / 1e9 / iterations;
+            t0 = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                big.multiply(bx, by, pool);
+            }
+            double parallel = (System.nanoTime() - t0) / 1e9 / iterations;
+            t0 = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                bigCsc.multiplyTranspose(bx, by, pool);
+            }
+            double transpose = (System.nanoTime() - t0) / 1e9 / iterations;
+            blackholeSink += by[n / 2];
+            if (round == 1) {
+                double flops = 2.0 * big.nnz();
+                System.out.printf("SpMV sequential:    %.2f ms (%.2f GFLOP/s)%n", sequential * 1e3, flops / sequential / 1e9);
+                System.out.printf("SpMV row blocks:    %.2f ms (%.2f GFLOP/s)%n", parallel * 1e3, flops / parallel / 1e9);
+                System.out.printf("SpMV^T CSC blocks:  %.2f ms (%.2f GFLOP/s)%n", transpose * 1e3, flops / transpose / 1e9);
+            }
+        }
+
+        int m = 200_000;
+        CSRMatrix left = randomMatrix(m, 8, 1);
+        CSRMatrix right = randomMatrix(m, 8, 2);
+        t0 = System.nanoTime();
+        CSRMatrix product = left.multiply(right, pool);
+        double spgemm = (System.nanoTime() - t0) / 1e9;
+        System.out.printf("SpGEMM (%d x %d, 8 per row): %.1f ms, %d output non-zeros (%.2f GFLOP/s)%n",
+                m, m, spgemm * 1e3, product.nnz(), 2.0 * m * 8 * 8 / spgemm / 1e9);
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - COO add: O(1) amortized");
+        System.out.println("  - COO -> CSR/CSC, CSR -> CSC: O(nnz + rows + cols)");
+        System.out.println("  - Access: O(log nnz per row)");
+        System.out.println("  - SpMV: O(nnz)");
+        System.out.println("  - SpGEMM: O(flops + nnz(C) log nnz(C row))");
+        System.out.println("  - Space: O(nnz + rows)");
+    }
+}
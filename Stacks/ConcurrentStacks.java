@@ -0,0 +1,249 @@
+package Stacks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Demonstrates a lock-free stack shared between threads.
+ * Uses a Treiber stack (CAS on head) with an elimination array that lets
+ * a concurrent push and pop cancel out without touching head.
+ * Benchmarks push/pop-heavy contention across thread counts.
+ */
+public class ConcurrentStacks {
+
+    static class Node<T> {
+        final T item;
+        Node<T> next;
+
+        Node(T item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * Lock-free LIFO stack with elimination backoff.
+     * On a failed CAS, a push parks its node in a random elimination slot
+     * for a short while; a pop that also failed its CAS may take it from there.
+     */
+    static class TreiberStack<T> {
+        private static final int SPIN_WAIT = 128;
+
+        private final AtomicReference<Node<T>> head = new AtomicReference<>();
+        private final AtomicReferenceArray<Node<T>> slots;
+
+        public TreiberStack() {
+            this(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        }
+
+        /**
+         * Create a stack with the given elimination array width; 0 disables elimination.
+         */
+        public TreiberStack(int eliminationSlots) {
+            if (eliminationSlots < 0) {
+                throw new IllegalArgumentException("eliminationSlots must not be negative");
+            }
+            this.slots = new AtomicReferenceArray<>(eliminationSlots);
+        }
+
+        /**
+         * Add element to the top of the stack. Lock-free, O(1) expected.
+         */
+        public void push(T item) {
+            if (item == null) {
+                throw new NullPointerException("item");
+            }
+            Node<T> node = new Node<>(item);
+            while (true) {
+                Node<T> top = head.get();
+                node.next = top;
+                if (head.compareAndSet(top, node)) {
+                    return;
+                }
+                if (tryEliminatePush(node)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Remove and return top element, or null if the stack is empty. Lock-free, O(1) expected.
+         */
+        public T pop() {
+            while (true) {
+                Node<T> top = head.get();
+                if (top == null) {
+                    return null;
+                }
+                if (head.compareAndSet(top, top.next)) {
+                    return top.item;
+                }
+                Node<T> exchanged = tryEliminatePop();
+                if (exchanged != null) {
+                    return exchanged.item;
+                }
+            }
+        }
+
+        /**
+         * Return top element without removing it, or null if empty. O(1) operation.
+         */
+        public T peek() {
+            Node<T> top = head.get();
+            return top == null ? null : top.item;
+        }
+
+        /**
+         * Check if stack is empty. O(1) operation.
+         */
+        public boolean isEmpty() {
+            return head.get() == null;
+        }
+
+        // Offer node in a random slot; succeeds if a popper removes it before we withdraw it
+        private boolean tryEliminatePush(Node<T> node) {
+            int width = slots.length();
+            if (width == 0) {
+                return false;
+            }
+            int i = ThreadLocalRandom.current().nextInt(width);
+            if (!slots.compareAndSet(i, null, node)) {
+                return false;
+            }
+            for (int spin = 0; spin < SPIN_WAIT; spin++) {
+                if (slots.get(i) != node) {
+                    return true;
+                }
+                Thread.onSpinWait();
+            }
+            // Withdraw; failure means a popper claimed the node in the meantime
+            return !slots.compareAndSet(i, node, null);
+        }
+
+        // Look for a waiting pusher in a random slot
+        private Node<T> tryEliminatePop() {
+            int width = slots.length();
+            if (width == 0) {
+                return null;
+            }
+            int i = ThreadLocalRandom.current().nextInt(width);
+            for (int spin = 0; spin < SPIN_WAIT; spin++) {
+                Node<T> waiting = slots.get(i);
+                if (waiting != null && slots.compareAndSet(i, waiting, null)) {
+                    return waiting;
+                }
+                Thread.onSpinWait();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stack guarded by a single monitor, used as the locking baseline.
+     */
+    static class LockedStack<T> {
+        private final Deque<T> items = new ArrayDeque<>();
+
+        public synchronized void push(T item) {
+            items.push(item);
+        }
+
+        public synchronized T pop() {
+            return items.poll();
+        }
+    }
+
+    interface StackOps {
+        void push(Integer item);
+
+        Integer pop();
+    }
+
+    /**
+     * Each thread alternates push and pop; returns million operations per second.
+     */
+    private static double benchmark(StackOps stack, int threads, int opsPerThread) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        Integer token = 42;
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < opsPerThread; i += 2) {
+                    stack.push(token);
+                    stack.pop();
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread w : workers) {
+            w.start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) threads * opsPerThread / (elapsed / 1_000.0);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        // Create stack instance
+        TreiberStack<Integer> myStack = new TreiberStack<>();
+
+        // Push elements
+        myStack.push(10);
+        myStack.push(20);
+        myStack.push(30);
+        myStack.push(40);
+        myStack.push(50);
+
+        // Pop and print elements
+        System.out.println("Elements in the Stack:");
+        while (!myStack.isEmpty()) {
+            System.out.println("Popped Element: " + myStack.pop());
+        }
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Contention benchmark
+        int opsPerThread = 1_000_000;
+        int maxThreads = Math.max(2, runtime.availableProcessors());
+        System.out.println("\n--- Benchmark (push/pop pairs, M ops/s) ---");
+        System.out.println("Threads  Treiber+elim  Treiber  synchronized");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            TreiberStack<Integer> eliminating = new TreiberStack<>(Math.max(1, threads / 2));
+            TreiberStack<Integer> plain = new TreiberStack<>(0);
+            LockedStack<Integer> locked = new LockedStack<>();
+            double e = benchmark(new StackOps() {
+                public void push(Integer item) { eliminating.push(item); }
+                public Integer pop() { return eliminating.pop(); }
+            }, threads, opsPerThread);
+            double p = benchmark(new StackOps() {
+                public void push(Integer item) { plain.push(item); }
+                public Integer pop() { return plain.pop(); }
+            }, threads, opsPerThread);
+            double l = benchmark(new StackOps() {
+                public void push(Integer item) { locked.push(item); }
+                public Integer pop() { return locked.pop(); }
+            }, threads, opsPerThread);
+            System.out.printf("%7d  %12.2f  %7.2f  %12.2f%n", threads, e, p, l);
+        }
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Push: O(1) expected, lock-free");
+        System.out.println("  - Pop: O(1) expected, lock-free");
+        System.out.println("  - Peek: O(1)");
+        System.out.println("  - IsEmpty: O(1)");
+    }
+}
@@ -1,14 +1,346 @@
 package Stacks;
 
+import Metrics.MemoryLayout;
+import Serialization.Serialization;
+import Serialization.Serialization.BlockReader;
+import Serialization.Serialization.BlockWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 /**
- * Demonstrates stack operations using custom ArrayList implementation.
- * Provides O(1) push and pop operations.
- * Pushes 5 integers and pops them to show LIFO ordering.
+ * Demonstrates stack operations using custom array-backed implementations.
+ * Provides O(1) push and pop operations on primitive ints and longs.
+ * Pushes 5 integers and pops them to show LIFO ordering, then benchmarks
+ * IntStack against the ArrayList-based Stack and ArrayDeque.
  */
 public class StacksWithoutLibrary {
 
+    // Growth limit of a stack without a fixed capacity
+    private static final int UNBOUNDED = Integer.MAX_VALUE - 8;
+
     /**
-     * Stack implementation using ArrayList.
+     * Stack of primitive ints backed by a growable array.
+     * A fixed capacity caps growth; push then reports failure
+     * through its return value instead of printing or throwing.
+     */
+    static class IntStack {
+        private static final int DEFAULT_CAPACITY = 16;
+
+        private int[] items;
+        private int size;
+        // Most elements the stack may hold; UNBOUNDED unless fixed
+        private final int limit;
+
+        public IntStack() {
+            this.items = new int[DEFAULT_CAPACITY];
+            this.limit = UNBOUNDED;
+        }
+
+        public IntStack(int capacity, boolean fixed) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            this.items = new int[capacity];
+            this.limit = fixed ? capacity : UNBOUNDED;
+        }
+
+        private IntStack(int[] items, int limit) {
+            this.items = items;
+            this.limit = limit;
+        }
+
+        /**
+         * Add element to the top of the stack. Amortized O(1) operation.
+         * Returns false if a fixed-capacity stack is full.
+         */
+        public boolean push(int item) {
+            if (size == items.length && !ensureCapacity(size + 1)) {
+                return false;
+            }
+            items[size++] = item;
+            return true;
+        }
+
+        /**
+         * Push len elements from src starting at offset, in order. O(len) operation.
+         * Returns the number of elements pushed, which is smaller than len only
+         * when a fixed-capacity stack fills up.
+         */
+        public int pushAll(int[] src, int offset, int len) {
+            ensureCapacity(size + len);
+            int n = Math.min(len, items.length - size);
+            System.arraycopy(src, offset, items, size, n);
+            size += n;
+            return n;
+        }
+
+        /**
+         * Remove and return top element, or fallback if the stack is empty. O(1) operation.
+         */
+        public int popOr(int fallback) {
+            return size == 0 ? fallback : items[--size];
+        }
+
+        /**
+         * Pop up to n elements into dst starting at offset, top element first. O(n) operation.
+         * Returns the number of elements popped.
+         */
+        public int popN(int[] dst, int offset, int n) {
+            int count = Math.min(n, size);
+            for (int i = 0; i < count; i++) {
+                dst[offset + i] = items[--size];
+            }
+            return count;
+        }
+
+        /**
+         * Return top element without removing it, or fallback if empty. O(1) operation.
+         */
+        public int peekOr(int fallback) {
+            return size == 0 ? fallback : items[size - 1];
+        }
+
+        /**
+         * Check if stack is empty. O(1) operation.
+         */
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Return number of elements in stack. O(1) operation.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Bytes held by the stack and its backing array, including spare capacity. O(1) operation.
+         */
+        public long retainedSize() {
+            return MemoryLayout.object(MemoryLayout.REFERENCE + 4 + 4) + MemoryLayout.array(items.length, 4);
+        }
+
+        /**
+         * Write capacity and fixed flag, then the elements bottom to top as one INT_BLOCK block. O(n) time.
+         */
+        public void writeTo(BlockWriter out) throws IOException {
+            out.beginStructure(Serialization.INT_STACK);
+            out.beginBlock(Serialization.INT_BLOCK, 2);
+            out.putInt(limit == UNBOUNDED ? items.length : limit);
+            out.putInt(limit == UNBOUNDED ? 0 : 1);
+            out.beginBlock(Serialization.INT_BLOCK, size);
+            out.putInts(items, 0, size);
+        }
+
+        /**
+         * Load a stack written by writeTo straight into its backing array. O(n) time.
+         */
+        public static IntStack readFrom(BlockReader in) throws IOException {
+            in.beginStructure(Serialization.INT_STACK);
+            if (in.beginBlock(Serialization.INT_BLOCK) != 2) {
+                throw new IOException("malformed stack header");
+            }
+            int capacity = in.getInt();
+            boolean fixed = in.getInt() != 0;
+            int count = in.beginArrayBlock(Serialization.INT_BLOCK);
+            if (capacity <= 0 || count > capacity) {
+                throw new IOException("stack of " + count + " elements does not fit capacity " + capacity);
+            }
+            // The stored capacity is untrusted: allocate for the elements present and let
+            // the stack grow on demand, up to that capacity if it is fixed
+            IntStack stack = new IntStack(new int[Math.min(capacity, Math.max(count, DEFAULT_CAPACITY))],
+                    fixed ? capacity : UNBOUNDED);
+            in.getInts(stack.items, 0, count);
+            stack.size = count;
+            return stack;
+        }
+
+        /**
+         * Remove all elements without releasing the backing array. O(1) operation.
+         */
+        public void clear() {
+            size = 0;
+        }
+
+        private boolean ensureCapacity(int required) {
+            if (required <= items.length) {
+                return true;
+            }
+            if (items.length == limit) {
+                return false;
+            }
+            int newCapacity = (int) Math.min(Math.max(items.length * 2L, required), limit);
+            int[] newItems = new int[newCapacity];
+            System.arraycopy(items, 0, newItems, 0, size);
+            items = newItems;
+            return newCapacity >= required;
+        }
+    }
+
+    /**
+     * Stack of primitive longs backed by a growable array.
+     * Same contract as IntStack.
+     */
+    static class LongStack {
+        private static final int DEFAULT_CAPACITY = 16;
+
+        private long[] items;
+        private int size;
+        // Most elements the stack may hold; UNBOUNDED unless fixed
+        private final int limit;
+
+        public LongStack() {
+            this.items = new long[DEFAULT_CAPACITY];
+            this.limit = UNBOUNDED;
+        }
+
+        public LongStack(int capacity, boolean fixed) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be positive");
+            }
+            this.items = new long[capacity];
+            this.limit = fixed ? capacity : UNBOUNDED;
+        }
+
+        private LongStack(long[] items, int limit) {
+            this.items = items;
+            this.limit = limit;
+        }
+
+        /**
+         * Add element to the top of the stack. Amortized O(1) operation.
+         * Returns false if a fixed-capacity stack is full.
+         */
+        public boolean push(long item) {
+            if (size == items.length && !ensureCapacity(size + 1)) {
+                return false;
+            }
+            items[size++] = item;
+            return true;
+        }
+
+        /**
+         * Push len elements from src starting at offset, in order. O(len) operation.
+         * Returns the number of elements pushed.
+         */
+        public int pushAll(long[] src, int offset, int len) {
+            ensureCapacity(size + len);
+            int n = Math.min(len, items.length - size);
+            System.arraycopy(src, offset, items, size, n);
+            size += n;
+            return n;
+        }
+
+        /**
+         * Remove and return top element, or fallback if the stack is empty. O(1) operation.
+         */
+        public long popOr(long fallback) {
+            return size == 0 ? fallback : items[--size];
+        }
+
+        /**
+         * Pop up to n elements into dst starting at offset, top element first. O(n) operation.
+         * Returns the number of elements popped.
+         */
+        public int popN(long[] dst, int offset, int n) {
+            int count = Math.min(n, size);
+            for (int i = 0; i < count; i++) {
+                dst[offset + i] = items[--size];
+            }
+            return count;
+        }
+
+        /**
+         * Return top element without removing it, or fallback if empty. O(1) operation.
+         */
+        public long peekOr(long fallback) {
+            return size == 0 ? fallback : items[size - 1];
+        }
+
+        /**
+         * Check if stack is empty. O(1) operation.
+         */
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Return number of elements in stack. O(1) operation.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Bytes held by the stack and its backing array, including spare capacity. O(1) operation.
+         */
+        public long retainedSize() {
+            return MemoryLayout.object(MemoryLayout.REFERENCE + 4 + 4) + MemoryLayout.array(items.length, 8);
+        }
+
+        /**
+         * Write capacity and fixed flag, then the elements bottom to top as one LONG_BLOCK block. O(n) time.
+         */
+        public void writeTo(BlockWriter out) throws IOException {
+            out.beginStructure(Serialization.LONG_STACK);
+            out.beginBlock(Serialization.INT_BLOCK, 2);
+            out.putInt(limit == UNBOUNDED ? items.length : limit);
+            out.putInt(limit == UNBOUNDED ? 0 : 1);
+            out.beginBlock(Serialization.LONG_BLOCK, size);
+            out.putLongs(items, 0, size);
+        }
+
+        /**
+         * Load a stack written by writeTo straight into its backing array. O(n) time.
+         */
+        public static LongStack readFrom(BlockReader in) throws IOException {
+            in.beginStructure(Serialization.LONG_STACK);
+            if (in.beginBlock(Serialization.INT_BLOCK) != 2) {
+                throw new IOException("malformed stack header");
+            }
+            int capacity = in.getInt();
+            boolean fixed = in.getInt() != 0;
+            int count = in.beginArrayBlock(Serialization.LONG_BLOCK);
+            if (capacity <= 0 || count > capacity) {
+                throw new IOException("stack of " + count + " elements does not fit capacity " + capacity);
+            }
+            // The stored capacity is untrusted: allocate for the elements present and let
+            // the stack grow on demand, up to that capacity if it is fixed
+            LongStack stack = new LongStack(new long[Math.min(capacity, Math.max(count, DEFAULT_CAPACITY))],
+                    fixed ? capacity : UNBOUNDED);
+            in.getLongs(stack.items, 0, count);
+            stack.size = count;
+            return stack;
+        }
+
+        /**
+         * Remove all elements without releasing the backing array. O(1) operation.
+         */
+        public void clear() {
+            size = 0;
+        }
+
+        private boolean ensureCapacity(int required) {
+            if (required <= items.length) {
+                return true;
+            }
+            if (items.length == limit) {
+                return false;
+            }
+            int newCapacity = (int) Math.min(Math.max(items.length * 2L, required), limit);
+            long[] newItems = new long[newCapacity];
+            System.arraycopy(items, 0, newItems, 0, size);
+            items = newItems;
+            return newCapacity >= required;
+        }
+    }
+
+    /**
+     * Stack implementation using ArrayList. Kept as the boxed baseline for benchmarks.
      */
     private static class Stack {
         private java.util.ArrayList<Integer> items;
@@ -67,14 +399,78 @@ public class StacksWithoutLibrary {
         }
     }
 
-    public static void main(String[] args) {
+    /**
+     * Push then pop n values through each stack, repeated for several rounds.
+     * Returns nanoseconds per push+pop pair for the last round.
+     */
+    private static double benchmarkIntStack(int n, int rounds) {
+        IntStack stack = new IntStack();
+        long elapsed = 0;
+        long sink = 0;
+        for (int r = 0; r < rounds; r++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                stack.push(i);
+            }
+            while (!stack.isEmpty()) {
+                sink += stack.popOr(0);
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        blackhole(sink);
+        return (double) elapsed / n;
+    }
+
+    private static double benchmarkListStack(int n, int rounds) {
+        Stack stack = new Stack();
+        long elapsed = 0;
+        long sink = 0;
+        for (int r = 0; r < rounds; r++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                stack.push(i);
+            }
+            while (!stack.isEmpty()) {
+                sink += stack.pop();
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        blackhole(sink);
+        return (double) elapsed / n;
+    }
+
+    private static double benchmarkArrayDeque(int n, int rounds) {
+        Deque<Integer> stack = new ArrayDeque<>();
+        long elapsed = 0;
+        long sink = 0;
+        for (int r = 0; r < rounds; r++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                stack.push(i);
+            }
+            while (!stack.isEmpty()) {
+                sink += stack.pop();
+            }
+            elapsed = System.nanoTime() - start;
+        }
+        blackhole(sink);
+        return (double) elapsed / n;
+    }
+
+    private static volatile long blackholeSink;
+
+    private static void blackhole(long value) {
+        blackholeSink += value;
+    }
+
+    public static void main(String[] args) throws IOException {
         Runtime runtime = Runtime.getRuntime();
         runtime.gc();
         long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
         long startTime = System.nanoTime();
         
         // Create stack instance
-        Stack myStack = new Stack();
+        IntStack myStack = new IntStack();
 
         // Push elements
         myStack.push(10);
@@ -86,20 +482,82 @@ public class StacksWithoutLibrary {
         // Pop and print elements
         System.out.println("Elements in the Stack:");
         while (!myStack.isEmpty()) {
-            System.out.println("Popped Element: " + myStack.pop());
+            System.out.println("Popped Element: " + myStack.popOr(-1));
         }
+
+        // Batch operations on a fixed-capacity stack
+        IntStack bounded = new IntStack(4, true);
+        int pushed = bounded.pushAll(new int[] {1, 2, 3, 4, 5, 6}, 0, 6);
+        boolean accepted = bounded.push(7);
+        int[] drained = new int[6];
+        int popped = bounded.popN(drained, 0, drained.length);
+        System.out.println("\nFixed-capacity stack accepted " + pushed + " of 6, popped " + popped);
+        System.out.println("Push on full stack succeeded: " + accepted);
+        System.out.println("Pop on empty stack returned: " + bounded.popOr(-1));
         
         long endTime = System.nanoTime();
         long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
         long memoryUsed = memoryAfter - memoryBefore;
+
+        // Throughput comparison
+        int n = 1_000_000;
+        int rounds = 10;
+        System.out.println("\n--- Benchmark (" + n + " push+pop, ns/op) ---");
+        System.out.printf("IntStack (int[]):        %.2f%n", benchmarkIntStack(n, rounds));
+        System.out.printf("Stack (ArrayList):       %.2f%n", benchmarkListStack(n, rounds));
+        System.out.printf("ArrayDeque<Integer>:     %.2f%n", benchmarkArrayDeque(n, rounds));
+
+        // Retained size from the array capacities, checked against the heap
+        IntStack intStack = new IntStack();
+        long intDelta = MemoryLayout.measure(() -> {
+            for (int i = 0; i < n; i++) {
+                intStack.push(i);
+            }
+            return intStack;
+        });
+        LongStack longStack = new LongStack();
+        long longDelta = MemoryLayout.measure(() -> {
+            for (int i = 0; i < n; i++) {
+                longStack.push(i);
+            }
+            return longStack;
+        });
+        System.out.println("\n--- Retained size (" + n + " elements) ---");
+        System.out.printf("IntStack:  %d bytes (%.2f bytes/element), heap delta %d bytes%n",
+                intStack.retainedSize(), (double) intStack.retainedSize() / n, intDelta);
+        System.out.printf("LongStack: %d bytes (%.2f bytes/element), heap delta %d bytes%n",
+                longStack.retainedSize(), (double) longStack.retainedSize() / n, longDelta);
+
+        // Round trip through the binary format: both stacks in one file
+        Path file = Files.createTempFile("stacks", ".bin");
+        try {
+            long t0 = System.nanoTime();
+            try (BlockWriter out = BlockWriter.create(file)) {
+                intStack.writeTo(out);
+                longStack.writeTo(out);
+            }
+            long t1 = System.nanoTime();
+            IntStack loadedInts;
+            LongStack loadedLongs;
+            try (BlockReader in = BlockReader.open(file)) {
+                loadedInts = IntStack.readFrom(in);
+                loadedLongs = LongStack.readFrom(in);
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("Saved both in %d bytes: write %.1f ms, read %.1f ms, tops after reload %d and %d%n",
+                    Files.size(file), (t1 - t0) / 1e6, (t2 - t1) / 1e6, loadedInts.peekOr(-1), loadedLongs.peekOr(-1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
         
         // Performance statistics
         System.out.println("\n--- Performance Statistics ---");
         System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
         System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
         System.out.println("\nTime Complexity:");
-        System.out.println("  - Push: O(1)");
+        System.out.println("  - Push: O(1) amortized");
         System.out.println("  - Pop: O(1)");
+        System.out.println("  - PushAll/PopN: O(k)");
         System.out.println("  - Peek: O(1)");
         System.out.println("  - IsEmpty: O(1)");
     }
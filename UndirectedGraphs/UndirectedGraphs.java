@@ -0,0 +1,653 @@
+package UndirectedGraphs;
+
+import Metrics.Metrics;
+import Metrics.Metrics.MetricsListener;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Demonstrates a dynamic undirected graph with primitive adjacency arrays and
+ * incremental connectivity. Insertions update a union-find in O(alpha(n)).
+ * Deletions are repaired locally when a small search finds a replacement path
+ * or a split-off piece; otherwise the union-find is rebuilt lazily on the next query.
+ * Benchmarks update and query latency.
+ */
+public class UndirectedGraphs {
+
+    /**
+     * Open-addressing set of undirected edges packed as (min << 32 | max).
+     * Linear probing with backward-shift deletion, so no tombstones.
+     */
+    static class EdgeSet {
+        private static final long EMPTY = -1L;
+        private long[] slots;
+        private int size;
+        private MetricsListener metrics = Metrics.NOOP;
+
+        EdgeSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+            slots = new long[capacity];
+            Arrays.fill(slots, EMPTY);
+        }
+
+        static long key(int u, int v) {
+            return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+        }
+
+        /**
+         * Check whether key is present. O(1) expected.
+         */
+        boolean contains(long key) {
+            int mask = slots.length - 1;
+            int probes = 1;
+            for (int i = mix(key) & mask; slots[i] != EMPTY; i = (i + 1) & mask, probes++) {
+                if (slots[i] == key) {
+                    recordProbe(probes);
+                    return true;
+                }
+            }
+            recordProbe(probes);
+            return false;
+        }
+
+        /**
+         * Add key. Returns false if already present. O(1) expected.
+         */
+        boolean add(long key) {
+            if (2 * (size + 1) > slots.length) {
+                rehash(slots.length * 2);
+            }
+            int mask = slots.length - 1;
+            int i = mix(key) & mask;
+            int probes = 1;
+            while (slots[i] != EMPTY) {
+                if (slots[i] == key) {
+                    recordProbe(probes);
+                    return false;
+                }
+                i = (i + 1) & mask;
+                probes++;
+            }
+            slots[i] = key;
+            size++;
+            recordProbe(probes);
+            return true;
+        }
+
+        /**
+         * Remove key. Returns false if absent. O(1) expected.
+         */
+        boolean remove(long key) {
+            int mask = slots.length - 1;
+            int i = mix(key) & mask;
+            while (slots[i] != key) {
+                if (slots[i] == EMPTY) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            // Shift later entries of the probe run back into the hole
+            int hole = i;
+            for (int j = (i + 1) & mask; slots[j] != EMPTY; j = (j + 1) & mask) {
+                int home = mix(slots[j]) & mask;
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    slots[hole] = slots[j];
+                    hole = j;
+                }
+            }
+            slots[hole] = EMPTY;
+            size--;
+            return true;
+        }
+
+        void clear() {
+            Arrays.fill(slots, EMPTY);
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Report probe lengths of contains/add and every rehash to listener.
+         */
+        void setMetrics(MetricsListener listener) {
+            this.metrics = listener == null ? Metrics.NOOP : listener;
+        }
+
+        private void recordProbe(int probes) {
+            MetricsListener m = metrics;
+            if (m.enabled()) {
+                m.probe(probes);
+            }
+        }
+
+        private void rehash(int capacity) {
+            long[] old = slots;
+            slots = new long[capacity];
+            Arrays.fill(slots, EMPTY);
+            int mask = capacity - 1;
+            for (long key : old) {
+                if (key != EMPTY) {
+                    int i = mix(key) & mask;
+                    while (slots[i] != EMPTY) {
+                        i = (i + 1) & mask;
+                    }
+                    slots[i] = key;
+                }
+            }
+            MetricsListener m = metrics;
+            if (m.enabled()) {
+                m.resize(old.length, capacity);
+            }
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    /**
+     * Undirected graph over vertices 0..n-1. Each vertex keeps its neighbours in
+     * its own int[] that grows by doubling; removal swaps with the last neighbour.
+     *
+     * Connectivity is a union-find over slot ids plus a certificate: a set of edges
+     * with the same components as the graph (initially the edges that merged two sets).
+     * Removing a certificate edge u - v runs a bounded search from both ends:
+     * if they meet, the path joins the certificate; if one side runs out first it is
+     * a split-off piece, whose vertices move to fresh union-find slots. Only when the
+     * search exceeds its budget is the union-find rebuilt, lazily, on the next query.
+     */
+    static class DynamicGraph {
+        private static final int SEARCH_BUDGET = 1024;
+
+        private final int[][] adjacency;
+        private final int[] degree;
+        private final EdgeSet edges;
+        private final EdgeSet certificate;
+        private final int[] slot;
+        private final int[] parent;
+        private final int[] setSize;
+        private int nextSlot;
+        private int components;
+        private boolean stale;
+        private int rebuilds;
+        private int splits;
+        private MetricsListener metrics = Metrics.NOOP;
+
+        // Scratch state for the bounded two-sided search
+        private final int[] seen;
+        private final int[] pred;
+        private final int[] queueU;
+        private final int[] queueV;
+        private int epoch;
+
+        public DynamicGraph(int vertexCount) {
+            this(vertexCount, 16);
+        }
+
+        public DynamicGraph(int vertexCount, int expectedEdges) {
+            if (vertexCount < 0) {
+                throw new IllegalArgumentException("vertexCount must not be negative");
+            }
+            this.adjacency = new int[vertexCount][];
+            this.degree = new int[vertexCount];
+            this.edges = new EdgeSet(expectedEdges);
+            this.certificate = new EdgeSet(Math.min(expectedEdges, vertexCount));
+            this.slot = new int[vertexCount];
+            this.parent = new int[2 * vertexCount];
+            this.setSize = new int[2 * vertexCount];
+            this.seen = new int[vertexCount];
+            this.pred = new int[vertexCount];
+            this.queueU = new int[SEARCH_BUDGET + 1];
+            this.queueV = new int[SEARCH_BUDGET + 1];
+            resetUnionFind();
+        }
+
+        /**
+         * Add edge u - v. Returns false if it already exists or u == v. O(alpha(n)) amortized.
+         */
+        public boolean addEdge(int u, int v) {
+            checkVertex(u);
+            checkVertex(v);
+            MetricsListener m = metrics;
+            long start = m.enabled() ? System.nanoTime() : 0L;
+            if (u == v || !edges.add(EdgeSet.key(u, v))) {
+                return false;
+            }
+            append(u, v);
+            append(v, u);
+            if (!stale && union(slot[u], slot[v])) {
+                certificate.add(EdgeSet.key(u, v));
+            }
+            if (m.enabled()) {
+                m.operation(Metrics.INSERT, System.nanoTime() - start);
+            }
+            return true;
+        }
+
+        /**
+         * Remove edge u - v. Returns false if absent.
+         * O(deg(u) + deg(v)), plus a search of at most SEARCH_BUDGET vertices for certificate edges.
+         */
+        public boolean removeEdge(int u, int v) {
+            checkVertex(u);
+            checkVertex(v);
+            MetricsListener m = metrics;
+            long start = m.enabled() ? System.nanoTime() : 0L;
+            long key = EdgeSet.key(u, v);
+            if (!edges.remove(key)) {
+                return false;
+            }
+            detach(u, v);
+            detach(v, u);
+            // A non-certificate edge was redundant for connectivity
+            if (!stale && certificate.remove(key)) {
+                repair(u, v);
+            }
+            if (m.enabled()) {
+                m.operation(Metrics.DELETE, System.nanoTime() - start);
+            }
+            return true;
+        }
+
+        /**
+         * Check whether edge u - v exists. O(1) expected.
+         */
+        public boolean hasEdge(int u, int v) {
+            return edges.contains(EdgeSet.key(u, v));
+        }
+
+        /**
+         * Check whether u and v are in the same component.
+         * O(alpha(n)), or O(n + m) for the first query after an unresolved deletion.
+         */
+        public boolean connected(int u, int v) {
+            checkVertex(u);
+            checkVertex(v);
+            MetricsListener m = metrics;
+            long start = m.enabled() ? System.nanoTime() : 0L;
+            refresh();
+            boolean result = find(slot[u]) == find(slot[v]);
+            if (m.enabled()) {
+                m.operation(Metrics.SEARCH, System.nanoTime() - start);
+            }
+            return result;
+        }
+
+        /**
+         * Report addEdge (insert), removeEdge (delete) and connected (search) latencies,
+         * plus probe lengths and rehashes of the edge set, to listener.
+         */
+        public void setMetrics(MetricsListener listener) {
+            this.metrics = listener == null ? Metrics.NOOP : listener;
+            edges.setMetrics(listener);
+        }
+
+        /**
+         * Return number of connected components. O(1), or O(n + m) after an unresolved deletion.
+         */
+        public int components() {
+            refresh();
+            return components;
+        }
+
+        /**
+         * Return size of u's component. Same cost as connected.
+         */
+        public int componentSize(int u) {
+            checkVertex(u);
+            refresh();
+            return setSize[find(slot[u])];
+        }
+
+        /**
+         * Return number of neighbours of u. O(1) operation.
+         */
+        public int degree(int u) {
+            return degree[u];
+        }
+
+        /**
+         * Return neighbour i of u, for i in [0, degree(u)). Order changes on removal.
+         */
+        public int neighbor(int u, int i) {
+            return adjacency[u][i];
+        }
+
+        public int vertexCount() {
+            return degree.length;
+        }
+
+        public int edgeCount() {
+            return edges.size();
+        }
+
+        /**
+         * Return number of full union-find rebuilds so far.
+         */
+        public int rebuilds() {
+            return rebuilds;
+        }
+
+        /**
+         * Return number of deletions resolved as a split without a rebuild.
+         */
+        public int splits() {
+            return splits;
+        }
+
+        /**
+         * Print each vertex's neighbours.
+         */
+        void display() {
+            for (int u = 0; u < degree.length; u++) {
+                StringBuilder sb = new StringBuilder();
+                sb.append(u).append(" -");
+                for (int i = 0; i < degree[u]; i++) {
+                    sb.append(' ').append(adjacency[u][i]);
+                }
+                System.out.println(sb);
+            }
+        }
+
+        // Alternate BFS steps from u and v until they meet, one side is exhausted, or the budget runs out
+        private void repair(int u, int v) {
+            if (epoch >= Integer.MAX_VALUE - 2) {
+                Arrays.fill(seen, 0);
+                epoch = 0;
+            }
+            int markU = ++epoch;
+            int markV = ++epoch;
+            seen[u] = markU;
+            seen[v] = markV;
+            queueU[0] = u;
+            queueV[0] = v;
+            int headU = 0;
+            int tailU = 1;
+            int headV = 0;
+            int tailV = 1;
+            while (tailU + tailV <= SEARCH_BUDGET) {
+                if (headU == tailU) {
+                    split(queueU, tailU, v);
+                    return;
+                }
+                if (headV == tailV) {
+                    split(queueV, tailV, u);
+                    return;
+                }
+                // Expand the side with the smaller frontier
+                boolean fromU = tailU - headU <= tailV - headV;
+                int[] queue = fromU ? queueU : queueV;
+                int mark = fromU ? markU : markV;
+                int other = fromU ? markV : markU;
+                int x = queue[fromU ? headU++ : headV++];
+                int[] list = adjacency[x];
+                for (int i = 0; i < degree[x]; i++) {
+                    int y = list[i];
+                    if (seen[y] == other) {
+                        // Path u .. x - y .. v replaces the removed edge
+                        addPath(x);
+                        addPath(y);
+                        certificate.add(EdgeSet.key(x, y));
+                        return;
+                    }
+                    if (seen[y] != mark) {
+                        seen[y] = mark;
+                        pred[y] = x;
+                        if (fromU) {
+                            queueU[tailU++] = y;
+                        } else {
+                            queueV[tailV++] = y;
+                        }
+                        if (tailU + tailV > SEARCH_BUDGET) {
+                            break;
+                        }
+                    }
+                }
+            }
+            stale = true;
+        }
+
+        // Add the search-tree path from x back to its root to the certificate
+        private void addPath(int x) {
+            while (x != queueU[0] && x != queueV[0]) {
+                certificate.add(EdgeSet.key(x, pred[x]));
+                x = pred[x];
+            }
+        }
+
+        // The vertices in piece[0..count) lost their only link to other; give them fresh slots
+        private void split(int[] piece, int count, int other) {
+            if (nextSlot + count > parent.length) {
+                stale = true;
+                return;
+            }
+            setSize[find(slot[other])] -= count;
+            for (int i = 0; i < count; i++) {
+                int s = nextSlot++;
+                parent[s] = s;
+                setSize[s] = 1;
+                slot[piece[i]] = s;
+            }
+            components += count;
+            for (int i = 0; i < count; i++) {
+                int x = piece[i];
+                for (int j = 0; j < degree[x]; j++) {
+                    union(slot[x], slot[adjacency[x][j]]);
+                }
+            }
+            splits++;
+        }
+
+        // Rebuild the union-find and certificate from the current edges
+        private void refresh() {
+            if (!stale) {
+                return;
+            }
+            resetUnionFind();
+            certificate.clear();
+            for (int u = 0; u < degree.length; u++) {
+                int[] list = adjacency[u];
+                for (int i = 0; i < degree[u]; i++) {
+                    int v = list[i];
+                    if (u < v && union(u, v)) {
+                        certificate.add(EdgeSet.key(u, v));
+                    }
+                }
+            }
+            stale = false;
+            rebuilds++;
+        }
+
+        private void resetUnionFind() {
+            for (int i = 0; i < slot.length; i++) {
+                slot[i] = i;
+                parent[i] = i;
+                setSize[i] = 1;
+            }
+            nextSlot = slot.length;
+            components = slot.length;
+        }
+
+        private int find(int x) {
+            while (parent[x] != x) {
+                parent[x] = parent[parent[x]];
+                x = parent[x];
+            }
+            return x;
+        }
+
+        private boolean union(int a, int b) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra == rb) {
+                return false;
+            }
+            if (setSize[ra] < setSize[rb]) {
+                int t = ra;
+                ra = rb;
+                rb = t;
+            }
+            parent[rb] = ra;
+            setSize[ra] += setSize[rb];
+            components--;
+            return true;
+        }
+
+        private void append(int u, int v) {
+            int[] list = adjacency[u];
+            if (list == null) {
+                list = adjacency[u] = new int[4];
+            } else if (degree[u] == list.length) {
+                list = adjacency[u] = Arrays.copyOf(list, list.length * 2);
+            }
+            list[degree[u]++] = v;
+        }
+
+        private void detach(int u, int v) {
+            int[] list = adjacency[u];
+            for (int i = 0; i < degree[u]; i++) {
+                if (list[i] == v) {
+                    list[i] = list[--degree[u]];
+                    return;
+                }
+            }
+        }
+
+        private void checkVertex(int u) {
+            if (u < 0 || u >= degree.length) {
+                throw new IllegalArgumentException("vertex " + u + " out of range");
+            }
+        }
+    }
+
+    private static volatile long blackholeSink;
+
+    // Sorts samples in place and prints p50/p99/max in nanoseconds
+    private static void printLatency(String label, long[] samples, int count) {
+        Arrays.sort(samples, 0, count);
+        System.out.printf("%-24s p50 %6d ns, p99 %7d ns, max %9d ns%n", label,
+                samples[count / 2], samples[(int) (count * 0.99)], samples[count - 1]);
+    }
+
+    public static void main(String[] args) {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime = System.nanoTime();
+
+        // Create graph with 6 vertices
+        DynamicGraph graph = new DynamicGraph(6);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+        graph.addEdge(3, 4);
+
+        System.out.println("Adjacency:");
+        graph.display();
+        System.out.println("\nComponents: " + graph.components());
+        System.out.println("Connected(0, 2): " + graph.connected(0, 2));
+        System.out.println("Connected(0, 3): " + graph.connected(0, 3));
+
+        graph.removeEdge(1, 2);
+        System.out.println("\nAfter removing 1 - 2 (on a cycle): connected(1, 2) = " + graph.connected(1, 2));
+        graph.removeEdge(2, 0);
+        System.out.println("After removing 2 - 0 (bridge): connected(0, 2) = " + graph.connected(0, 2)
+                + ", components " + graph.components());
+        System.out.println("Local splits: " + graph.splits() + ", rebuilds: " + graph.rebuilds());
+
+        // Live metrics on a graph that outgrows its initial edge table
+        Metrics.StructureMetrics metrics = new Metrics.StructureMetrics();
+        DynamicGraph measured = new DynamicGraph(200);
+        measured.setMetrics(metrics);
+        Random edgeRandom = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            measured.addEdge(edgeRandom.nextInt(200), edgeRandom.nextInt(200));
+        }
+        System.out.println("\nMetrics after 1000 random inserts on 200 vertices:");
+        System.out.println("  Edge table rehashes: " + metrics.getResizes() + ", capacity " + metrics.getLastCapacity());
+        System.out.printf("  Mean probe length: %.2f, distribution %s%n",
+                metrics.getMeanProbeLength(), Arrays.toString(metrics.getProbeLengthDistribution()));
+
+        long endTime = System.nanoTime();
+        long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
+        long memoryUsed = memoryAfter - memoryBefore;
+
+        // Update and query latency benchmark
+        int n = 1_000_000;
+        int m = 2_000_000;
+        int ops = 500_000;
+        int mixedOps = 100_000;
+        Random random = new Random(42);
+        DynamicGraph big = new DynamicGraph(n, m);
+        long[] samples = new long[Math.max(m, ops)];
+        System.out.println("\n--- Benchmark (" + n + " vertices, " + m + " edges) ---");
+
+        int[] us = new int[m];
+        int[] vs = new int[m];
+        for (int i = 0; i < m; i++) {
+            us[i] = random.nextInt(n);
+            vs[i] = random.nextInt(n);
+        }
+        for (int i = 0; i < m; i++) {
+            long t0 = System.nanoTime();
+            big.addEdge(us[i], vs[i]);
+            samples[i] = System.nanoTime() - t0;
+        }
+        printLatency("Insert edge:", samples, m);
+
+        long hits = 0;
+        for (int i = 0; i < ops; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            long t0 = System.nanoTime();
+            hits += big.connected(u, v) ? 1 : 0;
+            samples[i] = System.nanoTime() - t0;
+        }
+        printLatency("Connected query:", samples, ops);
+
+        for (int i = 0; i < ops; i++) {
+            int e = random.nextInt(m);
+            long t0 = System.nanoTime();
+            big.removeEdge(us[e], vs[e]);
+            samples[i] = System.nanoTime() - t0;
+        }
+        printLatency("Remove edge:", samples, ops);
+
+        // Mixed workload: 90% queries, 9% inserts, 1% deletes; rebuilds land on queries
+        int rebuildsBefore = big.rebuilds();
+        int splitsBefore = big.splits();
+        for (int i = 0; i < mixedOps; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            int r = random.nextInt(100);
+            long t0 = System.nanoTime();
+            if (r < 90) {
+                hits += big.connected(u, v) ? 1 : 0;
+            } else if (r < 99) {
+                big.addEdge(u, v);
+            } else {
+                int e = random.nextInt(m);
+                big.removeEdge(us[e], vs[e]);
+            }
+            samples[i] = System.nanoTime() - t0;
+        }
+        printLatency("Mixed (1% deletes):", samples, mixedOps);
+        System.out.println("Mixed run: " + (big.rebuilds() - rebuildsBefore) + " rebuilds, "
+                + (big.splits() - splitsBefore) + " local splits, components " + big.components());
+        blackholeSink += hits;
+
+        // Performance statistics
+        System.out.println("\n--- Performance Statistics ---");
+        System.out.printf("Execution time: %.4f ms%n", (endTime - startTime) / 1_000_000.0);
+        System.out.println("Memory usage: " + (memoryUsed > 0 ? memoryUsed : "negligible") + " bytes");
+        System.out.println("\nTime Complexity:");
+        System.out.println("  - Add edge: O(alpha(n)) amortized");
+        System.out.println("  - Remove edge: O(degree) plus bounded search");
+        System.out.println("  - Connected/Components: O(alpha(n)), O(n + m) after an unresolved deletion");
+        System.out.println("  - Space: O(n + m)");
+    }
+}